@@ -0,0 +1,239 @@
+package algorithm;
+
+import core.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks one of several exact finders per request and learns which is fastest online. Requests
+ * are grouped into contexts by distance band, weight variance, obstacle density and whether a
+ * precomputed index covers the grid. Within a context every eligible finder is first tried
+ * {@link #WARMUP_SAMPLES} times, after which the one with the lowest moving-average latency is
+ * used, with every {@link #EXPLORE_EVERY}th decision re-measuring the least-sampled finder that
+ * is still within {@link #EXPLORE_RATIO} of the best, so close calls can flip as the workload
+ * drifts without paying for finders that are far behind. Requests whose endpoints lie in different components are
+ * answered without any search.
+ */
+public class AdaptivePathFinder implements PathFinder {
+    public static final int WARMUP_SAMPLES = 3;
+    public static final int EXPLORE_EVERY = 32;
+    public static final double EXPLORE_RATIO = 4.0;
+    private static final double SMOOTHING = 0.2;
+    private static final int[] DISTANCE_BANDS = {16, 64, 256}; // Manhattan upper bounds; the last band is open
+    private static final String[] BAND_NAMES = {"near", "mid", "far", "very far"};
+    private static final double LOW_VARIANCE = 1.0;  // below this the minWeight heuristic of A* is nearly exact
+    private static final double DENSE = 0.3;         // above this straight-line guidance is often misleading
+    private static final int CONTEXTS = (DISTANCE_BANDS.length + 1) * 8;
+
+    private final List<PathFinder> finders = new ArrayList<>();
+    private final List<Grid> indexGrids = new ArrayList<>(); // null for finders that work on any grid
+    private volatile Stats[][] stats = new Stats[CONTEXTS][0];
+    private volatile Profile profile;
+    private final AtomicLong componentRejections = new AtomicLong();
+
+    public AdaptivePathFinder(PathFinder... finders) {
+        for (PathFinder finder : finders) register(finder);
+    }
+
+    // Adds a finder that answers requests on any grid.
+    public synchronized AdaptivePathFinder register(PathFinder finder) {
+        return add(finder, null);
+    }
+    // Adds a precomputed index (e.g. a contraction hierarchy) that is only valid on the grid it was built for.
+    public synchronized AdaptivePathFinder registerIndex(Grid grid, PathFinder index) {
+        return add(index, grid);
+    }
+
+    private AdaptivePathFinder add(PathFinder finder, Grid grid) {
+        finders.add(finder);
+        indexGrids.add(grid);
+        Stats[][] grown = new Stats[CONTEXTS][];
+        for (int c = 0; c < CONTEXTS; c++) {
+            grown[c] = Arrays.copyOf(stats[c], finders.size());
+            grown[c][finders.size() - 1] = new Stats();
+        }
+        stats = grown;
+        return this;
+    }
+
+    // Per-grid facts the selection depends on, computed once per grid instance.
+    private static final class Profile {
+        final Grid grid;
+        final int[] components; // -1 on blocked cells
+        final double weightVariance;
+        final double obstacleDensity;
+        Profile(Grid grid) {
+            this.grid = grid;
+            int rows = grid.getRows(), cols = grid.getCols();
+            int[] weights = grid.toWeightArray();
+            GridAnalysis analysis = GridAnalysis.of(grid);
+            this.weightVariance = analysis.getWeightVariance();
+            this.obstacleDensity = analysis.getObstacleDensity();
+            this.components = new int[weights.length];
+            Arrays.fill(components, -1);
+            int[] queue = new int[weights.length];
+            int label = 0;
+            for (int seed = 0; seed < weights.length; seed++) {
+                if (weights[seed] <= 0 || components[seed] >= 0) continue;
+                int head = 0, tail = 0;
+                queue[tail++] = seed;
+                components[seed] = label;
+                while (head < tail) {
+                    int u = queue[head++];
+                    int r = u / cols, c = u % cols;
+                    if (r > 0) tail = visit(weights, queue, tail, u - cols, label);
+                    if (r < rows - 1) tail = visit(weights, queue, tail, u + cols, label);
+                    if (c > 0) tail = visit(weights, queue, tail, u - 1, label);
+                    if (c < cols - 1) tail = visit(weights, queue, tail, u + 1, label);
+                }
+                label++;
+            }
+        }
+        private int visit(int[] weights, int[] queue, int tail, int v, int label) {
+            if (weights[v] > 0 && components[v] < 0) {
+                components[v] = label;
+                queue[tail++] = v;
+            }
+            return tail;
+        }
+    }
+
+    // Moving-average latency of one finder in one context; guarded by the owning finder.
+    private static final class Stats {
+        long samples;
+        long picks;
+        double meanNanos;
+        void record(long nanos) {
+            meanNanos = samples == 0 ? nanos : meanNanos + SMOOTHING * (nanos - meanNanos);
+            samples++;
+        }
+    }
+
+    @Override
+    public Path findPath(PathRequest request) {
+        Grid grid = request.getGrid();
+        Profile p = prepare(grid);
+        int cols = grid.getCols();
+        Cell start = request.getStartCell(), goal = request.getGoalCell();
+        int startComponent = p.components[start.getRow() * cols + start.getCol()];
+        int goalComponent = p.components[goal.getRow() * cols + goal.getCol()];
+        if (startComponent < 0 || startComponent != goalComponent) {
+            componentRejections.incrementAndGet();
+            return Path.notFound();
+        }
+        int context = contextOf(p, start, goal);
+        int chosen = choose(context, grid);
+        PathFinder finder;
+        synchronized (this) {
+            finder = finders.get(chosen);
+        }
+        long begin = System.nanoTime();
+        Path path = finder.findPath(request);
+        long elapsed = System.nanoTime() - begin;
+        synchronized (this) {
+            stats[context][chosen].record(elapsed);
+        }
+        return path;
+    }
+
+    private int contextOf(Profile p, Cell start, Cell goal) {
+        int distance = Math.abs(start.getRow() - goal.getRow()) + Math.abs(start.getCol() - goal.getCol());
+        int band = 0;
+        while (band < DISTANCE_BANDS.length && distance > DISTANCE_BANDS[band]) band++;
+        return band * 8 + (p.weightVariance < LOW_VARIANCE ? 4 : 0) + (p.obstacleDensity > DENSE ? 2 : 0)
+                + (hasIndex(p.grid) ? 1 : 0);
+    }
+
+    private synchronized boolean hasIndex(Grid grid) {
+        return indexGrids.contains(grid);
+    }
+
+    private synchronized int choose(int context, Grid grid) {
+        Stats[] candidates = stats[context];
+        long decisions = 0;
+        int best = -1, eligible = 0;
+        for (int f = 0; f < finders.size(); f++) {
+            if (!usable(f, grid)) continue;
+            eligible++;
+            Stats s = candidates[f];
+            decisions += s.picks;
+            if (s.samples < WARMUP_SAMPLES) {
+                candidates[f].picks++;
+                return f;
+            }
+            if (best < 0 || s.meanNanos < candidates[best].meanNanos) best = f;
+        }
+        if (eligible == 0) {
+            throw new IllegalStateException("No registered finder can answer requests on " + grid);
+        }
+        int chosen = best;
+        if ((decisions + 1) % EXPLORE_EVERY == 0) {
+            for (int f = 0; f < finders.size(); f++) {
+                if (f == best || !usable(f, grid) || candidates[f].meanNanos > EXPLORE_RATIO * candidates[best].meanNanos) continue;
+                if (chosen == best || candidates[f].samples < candidates[chosen].samples) chosen = f;
+            }
+        }
+        candidates[chosen].picks++;
+        return chosen;
+    }
+
+    private boolean usable(int finder, Grid grid) {
+        return indexGrids.get(finder) == null || indexGrids.get(finder) == grid;
+    }
+
+    private Profile prepare(Grid grid) {
+        Profile p = profile;
+        if (p == null || p.grid != grid) {
+            p = new Profile(grid);
+            profile = p;
+        }
+        return p;
+    }
+
+    public long getComponentRejectionCount() { return componentRejections.get(); }
+
+    // How often each finder was picked, over all contexts.
+    public synchronized long getPickCount(PathFinder finder) {
+        int f = finders.indexOf(finder);
+        long picks = 0;
+        for (Stats[] context : stats) picks += context[f].picks;
+        return picks;
+    }
+
+    // One line per context that saw requests: picks and mean latency for each finder, the preferred one marked.
+    public synchronized String describeDecisions() {
+        StringBuilder out = new StringBuilder();
+        for (int context = 0; context < CONTEXTS; context++) {
+            Stats[] candidates = stats[context];
+            int best = -1;
+            long total = 0;
+            for (int f = 0; f < finders.size(); f++) {
+                total += candidates[f].picks;
+                if (candidates[f].samples > 0 && (best < 0 || candidates[f].meanNanos < candidates[best].meanNanos)) best = f;
+            }
+            if (total == 0) continue;
+            out.append(String.format(Locale.ROOT, "%-8s %-8s %-6s %-8s:", BAND_NAMES[context / 8],
+                    (context & 4) != 0 ? "uniform" : "weighted", (context & 2) != 0 ? "dense" : "open",
+                    (context & 1) != 0 ? "indexed" : "no index"));
+            for (int f = 0; f < finders.size(); f++) {
+                if (candidates[f].picks == 0) continue;
+                out.append(String.format(Locale.ROOT, " %s%s %d picks %.3f ms;", f == best ? "*" : "",
+                        finders.get(f).getFinderName(), candidates[f].picks, candidates[f].meanNanos / 1e6));
+            }
+            out.append('\n');
+        }
+        if (componentRejections.get() > 0) {
+            out.append(componentRejections.get()).append(" requests rejected by the component check\n");
+        }
+        return out.toString();
+    }
+
+    @Override
+    public synchronized String getFinderName() {
+        return "Adaptive (" + finders.size() + " finders)";
+    }
+}
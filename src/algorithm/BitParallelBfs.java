@@ -0,0 +1,170 @@
+package algorithm;
+
+import core.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Breadth-first search for up to 64 requests at once on a unit-weight grid. Every cell holds one
+ * {@code long} per bitset, bit k belonging to request k, so expanding a frontier cell advances
+ * every request that reached it at this level in one step. The BFS level of each visited cell
+ * is kept modulo 3 in two bitplanes; adjacent cells differ by at most one level, so that is
+ * enough to walk back from a goal to its start.
+ */
+public class BitParallelBfs {
+    public static final int LANES = Long.SIZE;
+    private static final int[] DR = {-1, 1, 0, 0}; // CompactPath.UP, DOWN, LEFT, RIGHT
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final Grid grid;
+    private final int rows;
+    private final int cols;
+    private final int width;    // padded with a blocked border so neighbour reads never go out of range
+    private final long[] blocked; // -1 for obstacles and the border, 0 for walkable cells
+
+    public BitParallelBfs(Grid grid) {
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.width = cols + 2;
+        this.blocked = new long[(rows + 2) * width];
+        Arrays.fill(blocked, -1L);
+        int[] weights = grid.toWeightArray();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (weights[r * cols + c] > 0) blocked[slot(r, c)] = 0L;
+            }
+        }
+    }
+
+    public static boolean isUnitWeight(Grid grid) {
+        return GridAnalysis.of(grid).isUnitWeight();
+    }
+
+    // Lanes with nearby starts share most of their wavefront, so batches should be cut from this order.
+    public static Comparator<PathRequest> startLocality(Grid grid) {
+        CellLayout layout = Math.max(grid.getRows(), grid.getCols()) <= CellIndex.MAX_MORTON_SIDE
+                ? CellLayout.MORTON : CellLayout.ROW_MAJOR;
+        CellIndex order = new CellIndex(layout, grid.getRows(), grid.getCols());
+        return Comparator.comparingInt(request -> order.index(request.getStartCell().getRow(), request.getStartCell().getCol()));
+    }
+
+    private int slot(int row, int col) {
+        return (row + 1) * width + col + 1;
+    }
+
+    // Results are in request order; every request must be on this grid.
+    public List<Path> findPaths(List<PathRequest> requests) {
+        if (requests.size() > LANES) {
+            throw new IllegalArgumentException("At most " + LANES + " requests per batch, got " + requests.size());
+        }
+        int lanes = requests.size();
+        long[] visited = blocked.clone(); // blocked cells count as visited by every lane
+        long[] frontier = new long[blocked.length];
+        long[] next = new long[blocked.length];
+        long[] levelLow = new long[blocked.length];  // bit 0 of (level % 3)
+        long[] levelHigh = new long[blocked.length]; // bit 1 of (level % 3)
+        int[] frontierSlots = new int[256];
+        int[] nextSlots = new int[256];
+        int frontierSize = 0;
+        int[] goals = new int[lanes];
+        int[] distance = new int[lanes];
+        Arrays.fill(distance, -1);
+        long[] expanded = new long[lanes]; // frontier cells each lane expanded, reported like a finder's count
+        long pending = 0;
+        for (int k = 0; k < lanes; k++) {
+            PathRequest request = requests.get(k);
+            int start = slot(request.getStartCell().getRow(), request.getStartCell().getCol());
+            goals[k] = slot(request.getGoalCell().getRow(), request.getGoalCell().getCol());
+            if (blocked[start] != 0 || blocked[goals[k]] != 0) continue;
+            if (frontier[start] == 0) {
+                if (frontierSize == frontierSlots.length) frontierSlots = Arrays.copyOf(frontierSlots, frontierSize * 2);
+                frontierSlots[frontierSize++] = start;
+            }
+            long bit = 1L << k;
+            frontier[start] |= bit;
+            visited[start] |= bit;
+            pending |= bit;
+        }
+
+        int[] offsets = {-width, width, -1, 1};
+        for (int level = 0; pending != 0 && frontierSize > 0; level++) {
+            for (long remaining = pending; remaining != 0; remaining &= remaining - 1) {
+                int k = Long.numberOfTrailingZeros(remaining);
+                if ((visited[goals[k]] >>> k & 1) != 0) {
+                    distance[k] = level;
+                    pending &= ~(1L << k);
+                }
+            }
+            if (pending == 0) break;
+            int mod = (level + 1) % 3;
+            long lowMask = (mod & 1) != 0 ? -1L : 0L, highMask = (mod & 2) != 0 ? -1L : 0L;
+            int nextSize = 0;
+            for (int f = 0; f < frontierSize; f++) {
+                int u = frontierSlots[f];
+                // Lanes whose goal is already reached stop expanding.
+                long bits = frontier[u] & pending;
+                frontier[u] = 0;
+                if (bits == 0) continue;
+                for (long lane = bits; lane != 0; lane &= lane - 1) expanded[Long.numberOfTrailingZeros(lane)]++;
+                for (int offset : offsets) {
+                    int v = u + offset;
+                    long fresh = bits & ~visited[v];
+                    if (fresh == 0) continue;
+                    if (next[v] == 0) {
+                        if (nextSize == nextSlots.length) nextSlots = Arrays.copyOf(nextSlots, nextSize * 2);
+                        nextSlots[nextSize++] = v;
+                    }
+                    next[v] |= fresh;
+                    visited[v] |= fresh;
+                    levelLow[v] |= fresh & lowMask;
+                    levelHigh[v] |= fresh & highMask;
+                }
+            }
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+            int[] swapSlots = frontierSlots;
+            frontierSlots = nextSlots;
+            nextSlots = swapSlots;
+            frontierSize = nextSize;
+        }
+
+        List<Path> paths = new ArrayList<>(lanes);
+        for (int k = 0; k < lanes; k++) {
+            paths.add(distance[k] < 0 ? Path.notFound()
+                    : walkBack(requests.get(k).getStartCell(), goals[k], distance[k], k, visited, levelLow, levelHigh,
+                            expanded[k]));
+        }
+        return paths;
+    }
+
+    private Path walkBack(Cell start, int goal, int steps, int lane, long[] visited, long[] levelLow, long[] levelHigh,
+                          long expandedNodes) {
+        long[] moves = new long[CompactPath.wordsFor(steps)];
+        int cur = goal;
+        for (int step = steps; step > 0; step--) {
+            int wanted = (step - 1) % 3;
+            int move = -1;
+            for (int d = 0; d < 4 && move < 0; d++) {
+                int from = cur - DR[d] * width - DC[d]; // the cell this move would have come from
+                if (blocked[from] != 0 || (visited[from] >>> lane & 1) == 0) continue;
+                int mod = (int) (levelLow[from] >>> lane & 1) | (int) (levelHigh[from] >>> lane & 1) << 1;
+                if (mod == wanted) {
+                    move = d;
+                    cur = from;
+                }
+            }
+            if (move < 0) {
+                throw new IllegalStateException("Broken BFS level chain for lane " + lane);
+            }
+            CompactPath.setMove(moves, step - 1, move);
+        }
+        return new CompactPath(grid, start.getRow(), start.getCol(), steps, moves, steps, Path.Status.FOUND, expandedNodes);
+    }
+
+    public Grid getGrid() { return grid; }
+}
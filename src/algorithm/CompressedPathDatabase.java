@@ -0,0 +1,281 @@
+package algorithm;
+
+import core.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Distance oracle built from per-cell first-move tables (a Compressed Path Database).
+ * For every source cell the first move towards each target is stored as runs over the
+ * row-major target index; unreachable and blocked targets are "don't care" and merge into
+ * the surrounding run. Queries walk the tables move by move without any search.
+ */
+public class CompressedPathDatabase implements PathFinder {
+    private static final int FILE_MAGIC = 0x43504442; // "CPDB"
+    private static final int NO_MOVE = 4;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final Grid grid;
+    private final int rows;
+    private final int cols;
+    private final int[] weights;
+    private final int[] components;
+    private final int[][] runs; // per source: (targetIndex << 3) | move, sorted by target
+    private final long buildTimeMs;
+
+    private CompressedPathDatabase(Grid grid, int[] weights, int[] components, int[][] runs, long buildTimeMs) {
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.weights = weights;
+        this.components = components;
+        this.runs = runs;
+        this.buildTimeMs = buildTimeMs;
+    }
+
+    public static CompressedPathDatabase build(Grid grid, int threadCount) {
+        long startTime = System.nanoTime();
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int[] weights = grid.toWeightArray();
+        int[] components = labelComponents(weights, rows, cols);
+        int[][] runs = new int[rows * cols][];
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        int blockSize = Math.max(1, (rows * cols) / (threadCount * 16));
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < rows * cols; from += blockSize) {
+            final int blockStart = from;
+            final int blockEnd = Math.min(rows * cols, from + blockSize);
+            futures.add(executor.submit(() -> {
+                FirstMoveSearch search = new FirstMoveSearch(weights, components, rows, cols);
+                for (int source = blockStart; source < blockEnd; source++) {
+                    runs[source] = weights[source] > 0 ? search.compressFrom(source) : new int[0];
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Oracle build interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Oracle build failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long buildTimeMs = (System.nanoTime() - startTime) / 1_000_000;
+        return new CompressedPathDatabase(grid, weights, components, runs, buildTimeMs);
+    }
+
+    @Override
+    public Path findPath(PathRequest request) {
+        Cell start = request.getStartCell();
+        Cell goal = request.getGoalCell();
+        int source = start.getRow() * cols + start.getCol();
+        int target = goal.getRow() * cols + goal.getCol();
+        if (weights[source] <= 0 || weights[target] <= 0 || components[source] != components[target]) {
+            return Path.notFound();
+        }
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        long[] moves = new long[CompactPath.wordsFor(Math.abs(start.getRow() - goal.getRow())
+                + Math.abs(start.getCol() - goal.getCol()))];
+        long totalCost = 0;
+        int current = source;
+        int steps = 0;
+        while (current != target) {
+            int move = firstMove(current, target);
+            if (move == NO_MOVE || steps >= weights.length) {
+                return Path.notFound();
+            }
+            int next = (current / cols + DR[move]) * cols + current % cols + DC[move];
+            long stepCost = totalCost + weights[next];
+            Path.Status stop = budget.onExpand(stepCost);
+            if (stop != null) {
+                return new CompactPath(grid, start.getRow(), start.getCol(), steps, moves, totalCost, stop,
+                        budget.getExpandedNodes());
+            }
+            if (CompactPath.wordsFor(steps + 1) > moves.length) {
+                moves = Arrays.copyOf(moves, moves.length * 2 + 1);
+            }
+            // The table moves share CompactPath's UP/DOWN/LEFT/RIGHT numbering.
+            CompactPath.setMove(moves, steps++, move);
+            totalCost = stepCost;
+            current = next;
+        }
+        return new CompactPath(grid, start.getRow(), start.getCol(), steps, moves, totalCost, Path.Status.FOUND,
+                budget.getExpandedNodes());
+    }
+
+    private int firstMove(int source, int target) {
+        int[] sourceRuns = runs[source];
+        int lo = 0, hi = sourceRuns.length - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if ((sourceRuns[mid] >>> 3) <= target) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found < 0 ? NO_MOVE : sourceRuns[found] & 7;
+    }
+
+    @Override
+    public String getFinderName() {
+        return "Compressed Path Database (First-Move Oracle)";
+    }
+
+    public Grid getGrid() { return grid; }
+    public long getBuildTimeMs() { return buildTimeMs; }
+    public long getRunCount() {
+        long total = 0;
+        for (int[] sourceRuns : runs) total += sourceRuns.length;
+        return total;
+    }
+    public long getMemoryFootprintBytes() {
+        // 16 bytes of array header per source table plus the run entries and the per-cell arrays.
+        return getRunCount() * Integer.BYTES + (long) runs.length * 16
+                + (long) weights.length * Integer.BYTES * 2;
+    }
+
+    public void save(java.nio.file.Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(rows);
+            out.writeInt(cols);
+            out.writeInt(Arrays.hashCode(weights));
+            for (int component : components) out.writeInt(component);
+            for (int[] sourceRuns : runs) {
+                out.writeInt(sourceRuns.length);
+                for (int run : sourceRuns) out.writeInt(run);
+            }
+        }
+    }
+
+    public static CompressedPathDatabase load(java.nio.file.Path file, Grid grid) throws IOException {
+        long startTime = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a path database file: " + file);
+            }
+            int rows = in.readInt();
+            int cols = in.readInt();
+            int[] weights = grid.toWeightArray();
+            if (rows != grid.getRows() || cols != grid.getCols() || in.readInt() != Arrays.hashCode(weights)) {
+                throw new IOException("Path database " + file + " was built for a different grid.");
+            }
+            int[] components = new int[rows * cols];
+            for (int i = 0; i < components.length; i++) components[i] = in.readInt();
+            int[][] runs = new int[rows * cols][];
+            for (int source = 0; source < runs.length; source++) {
+                int[] sourceRuns = new int[in.readInt()];
+                for (int i = 0; i < sourceRuns.length; i++) sourceRuns[i] = in.readInt();
+                runs[source] = sourceRuns;
+            }
+            return new CompressedPathDatabase(grid, weights, components, runs, (System.nanoTime() - startTime) / 1_000_000);
+        }
+    }
+
+    private static int[] labelComponents(int[] weights, int rows, int cols) {
+        int[] components = new int[weights.length];
+        Arrays.fill(components, -1);
+        int[] stack = new int[weights.length];
+        int nextLabel = 0;
+        for (int seed = 0; seed < weights.length; seed++) {
+            if (weights[seed] <= 0 || components[seed] >= 0) continue;
+            int top = 0;
+            stack[top++] = seed;
+            components[seed] = nextLabel;
+            while (top > 0) {
+                int u = stack[--top];
+                int r = u / cols, c = u % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + DR[d], nc = c + DC[d];
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                    int v = nr * cols + nc;
+                    if (weights[v] > 0 && components[v] < 0) {
+                        components[v] = nextLabel;
+                        stack[top++] = v;
+                    }
+                }
+            }
+            nextLabel++;
+        }
+        return components;
+    }
+
+    private static class FirstMoveSearch {
+        private final int[] weights;
+        private final int[] components;
+        private final int rows;
+        private final int cols;
+        private final long[] dist;
+        private final byte[] firstMove;
+        private final LongMinHeap heap;
+        private int[] runBuffer;
+
+        FirstMoveSearch(int[] weights, int[] components, int rows, int cols) {
+            this.weights = weights;
+            this.components = components;
+            this.rows = rows;
+            this.cols = cols;
+            this.dist = new long[weights.length];
+            this.firstMove = new byte[weights.length];
+            this.heap = new LongMinHeap(weights.length);
+            this.runBuffer = new int[64];
+        }
+
+        int[] compressFrom(int source) {
+            Arrays.fill(dist, Long.MAX_VALUE);
+            Arrays.fill(firstMove, (byte) NO_MOVE);
+            heap.clear();
+            dist[source] = 0;
+            heap.add(source);
+            while (!heap.isEmpty()) {
+                long key = heap.poll();
+                int u = (int) key;
+                long uDist = key >>> 32;
+                if (uDist > dist[u]) continue;
+                int r = u / cols, c = u % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + DR[d], nc = c + DC[d];
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                    int v = nr * cols + nc;
+                    if (weights[v] <= 0) continue;
+                    long alt = uDist + weights[v];
+                    if (alt < dist[v]) {
+                        dist[v] = alt;
+                        firstMove[v] = u == source ? (byte) d : firstMove[u];
+                        heap.add((alt << 32) | v);
+                    }
+                }
+            }
+            int count = 0;
+            int lastMove = -1;
+            int sourceComponent = components[source];
+            for (int target = 0; target < weights.length; target++) {
+                // Targets outside the source component never reach a table walk.
+                if (weights[target] <= 0 || components[target] != sourceComponent || target == source) continue;
+                int move = firstMove[target];
+                if (move != lastMove) {
+                    if (count == runBuffer.length) runBuffer = Arrays.copyOf(runBuffer, count * 2);
+                    // The first run is anchored at index 0 so every lookup finds a run.
+                    int runStart = count == 0 ? 0 : target;
+                    runBuffer[count++] = runStart << 3 | move;
+                    lastMove = move;
+                }
+            }
+            return Arrays.copyOf(runBuffer, count);
+        }
+    }
+}
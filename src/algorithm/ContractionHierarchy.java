@@ -0,0 +1,579 @@
+package algorithm;
+
+import core.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Contraction hierarchy over the directed grid graph (moving into a cell costs its weight).
+ * Nodes are contracted in rounds of independent sets chosen by edge difference, so corridor
+ * and dead-end cells collapse first and uniform regions follow; each round's witness searches
+ * run in parallel. Queries are bidirectional upward searches whose shortcuts are unpacked back
+ * into grid cells.
+ */
+public class ContractionHierarchy implements PathFinder {
+    private static final int FILE_MAGIC = 0x43484958; // "CHIX"
+    private static final int WITNESS_SETTLE_LIMIT = 400;
+    private static final long INFINITY = Long.MAX_VALUE;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final Grid grid;
+    private final int cols;
+    private final int gridHash;
+    private final int[] cellOf;
+    private final int[] nodeOf;
+    private final int[] rank;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeight;
+    private final int[] edgeFirst;  // -1 for an original grid edge
+    private final int[] edgeSecond;
+    private final int[] upOutStart;
+    private final int[] upOutEdges;
+    private final int[] upInStart;
+    private final int[] upInEdges;
+    private final long buildTimeMs;
+    private final ThreadLocal<QueryState> queryState;
+
+    private ContractionHierarchy(Grid grid, int gridHash, int[] cellOf, int[] rank, int[] edgeFrom, int[] edgeTo,
+                                 int[] edgeWeight, int[] edgeFirst, int[] edgeSecond, long buildTimeMs) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+        this.gridHash = gridHash;
+        this.cellOf = cellOf;
+        this.rank = rank;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.edgeFirst = edgeFirst;
+        this.edgeSecond = edgeSecond;
+        this.buildTimeMs = buildTimeMs;
+        this.nodeOf = new int[grid.getRows() * cols];
+        Arrays.fill(nodeOf, -1);
+        for (int node = 0; node < cellOf.length; node++) {
+            nodeOf[cellOf[node]] = node;
+        }
+        int n = cellOf.length;
+        this.upOutStart = new int[n + 1];
+        this.upInStart = new int[n + 1];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (rank[edgeTo[e]] > rank[edgeFrom[e]]) upOutStart[edgeFrom[e] + 1]++;
+            else upInStart[edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            upOutStart[i + 1] += upOutStart[i];
+            upInStart[i + 1] += upInStart[i];
+        }
+        this.upOutEdges = new int[upOutStart[n]];
+        this.upInEdges = new int[upInStart[n]];
+        int[] outFill = Arrays.copyOf(upOutStart, n);
+        int[] inFill = Arrays.copyOf(upInStart, n);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (rank[edgeTo[e]] > rank[edgeFrom[e]]) upOutEdges[outFill[edgeFrom[e]]++] = e;
+            else upInEdges[inFill[edgeTo[e]]++] = e;
+        }
+        this.queryState = ThreadLocal.withInitial(() -> new QueryState(n));
+    }
+
+    public static ContractionHierarchy build(Grid grid, int threadCount) {
+        long startTime = System.nanoTime();
+        int[] weights = grid.toWeightArray();
+        Builder builder = new Builder(grid, weights);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            builder.contractAll(executor, threadCount);
+        } finally {
+            executor.shutdownNow();
+        }
+        long buildTimeMs = (System.nanoTime() - startTime) / 1_000_000;
+        EdgeList edges = builder.edges;
+        return new ContractionHierarchy(grid, Arrays.hashCode(weights), builder.cellOf, builder.rank,
+                Arrays.copyOf(edges.from, edges.size), Arrays.copyOf(edges.to, edges.size),
+                Arrays.copyOf(edges.weight, edges.size), Arrays.copyOf(edges.first, edges.size),
+                Arrays.copyOf(edges.second, edges.size), buildTimeMs);
+    }
+
+    @Override
+    public Path findPath(PathRequest request) {
+        Cell start = request.getStartCell();
+        Cell goal = request.getGoalCell();
+        int source = nodeOf[start.getRow() * cols + start.getCol()];
+        int target = nodeOf[goal.getRow() * cols + goal.getCol()];
+        if (source < 0 || target < 0) {
+            return Path.notFound();
+        }
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        QueryState state = queryState.get();
+        state.begin();
+        state.reach(true, source, 0, -1);
+        state.reach(false, target, 0, -1);
+        long best = INFINITY;
+        int meet = -1;
+        while (!state.forwardHeap.isEmpty() || !state.backwardHeap.isEmpty()) {
+            long minForward = state.forwardHeap.isEmpty() ? INFINITY : state.forwardHeap.peek() >>> 32;
+            long minBackward = state.backwardHeap.isEmpty() ? INFINITY : state.backwardHeap.peek() >>> 32;
+            if (Math.min(minForward, minBackward) >= best) break;
+            boolean forward = minForward <= minBackward;
+            long key = forward ? state.forwardHeap.poll() : state.backwardHeap.poll();
+            int u = (int) key;
+            long uDist = key >>> 32;
+            if (uDist > state.dist(forward, u)) continue;
+            // Upward distances are not real path costs, so the cost limit is applied to the final result.
+            Path.Status stop = budget.onExpand(0);
+            if (stop != null) {
+                return Path.limitReached(stop, List.of(), 0, budget.getExpandedNodes());
+            }
+            long other = state.dist(!forward, u);
+            if (other != INFINITY && uDist + other < best) {
+                best = uDist + other;
+                meet = u;
+            }
+            int[] starts = forward ? upOutStart : upInStart;
+            int[] list = forward ? upOutEdges : upInEdges;
+            for (int i = starts[u]; i < starts[u + 1]; i++) {
+                int e = list[i];
+                int v = forward ? edgeTo[e] : edgeFrom[e];
+                long alt = uDist + edgeWeight[e];
+                if (alt < state.dist(forward, v)) {
+                    state.reach(forward, v, alt, e);
+                }
+            }
+        }
+        if (meet < 0) {
+            return Path.notFound();
+        }
+        if (best > request.getLimits().getMaxCost()) {
+            return Path.limitReached(Path.Status.COST_LIMIT_EXCEEDED, List.of(), 0, budget.getExpandedNodes());
+        }
+        List<Integer> forwardEdges = new ArrayList<>();
+        for (int node = meet; node != source; node = edgeFrom[state.forwardEdge[node]]) {
+            forwardEdges.add(state.forwardEdge[node]);
+        }
+        List<Cell> cells = new ArrayList<>();
+        cells.add(cellFor(source));
+        for (int i = forwardEdges.size() - 1; i >= 0; i--) {
+            unpack(forwardEdges.get(i), cells);
+        }
+        for (int node = meet; node != target; node = edgeTo[state.backwardEdge[node]]) {
+            unpack(state.backwardEdge[node], cells);
+        }
+        return CompactPath.fromCells(grid, cells, best, Path.Status.FOUND, budget.getExpandedNodes());
+    }
+
+    private void unpack(int edge, List<Cell> cells) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = edge;
+        while (top > 0) {
+            int e = stack[--top];
+            if (edgeFirst[e] < 0) {
+                cells.add(cellFor(edgeTo[e]));
+            } else {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = edgeSecond[e];
+                stack[top++] = edgeFirst[e];
+            }
+        }
+    }
+
+    private Cell cellFor(int node) {
+        return grid.getCell(cellOf[node] / cols, cellOf[node] % cols);
+    }
+
+    @Override
+    public String getFinderName() {
+        return "Contraction Hierarchy (Bidirectional Upward Search)";
+    }
+
+    public long getBuildTimeMs() { return buildTimeMs; }
+    public int getNodeCount() { return cellOf.length; }
+    public int getEdgeCount() { return edgeFrom.length; }
+    public int getShortcutCount() {
+        int count = 0;
+        for (int first : edgeFirst) if (first >= 0) count++;
+        return count;
+    }
+
+    public void save(java.nio.file.Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(grid.getRows());
+            out.writeInt(cols);
+            out.writeInt(gridHash);
+            out.writeInt(cellOf.length);
+            for (int node = 0; node < cellOf.length; node++) {
+                out.writeInt(cellOf[node]);
+                out.writeInt(rank[node]);
+            }
+            out.writeInt(edgeFrom.length);
+            for (int e = 0; e < edgeFrom.length; e++) {
+                out.writeInt(edgeFrom[e]);
+                out.writeInt(edgeTo[e]);
+                out.writeInt(edgeWeight[e]);
+                out.writeInt(edgeFirst[e]);
+                out.writeInt(edgeSecond[e]);
+            }
+        }
+    }
+
+    public static ContractionHierarchy load(java.nio.file.Path file, Grid grid) throws IOException {
+        long startTime = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a contraction hierarchy file: " + file);
+            }
+            int rows = in.readInt();
+            int cols = in.readInt();
+            int gridHash = Arrays.hashCode(grid.toWeightArray());
+            if (rows != grid.getRows() || cols != grid.getCols() || in.readInt() != gridHash) {
+                throw new IOException("Contraction hierarchy " + file + " was built for a different grid.");
+            }
+            int n = in.readInt();
+            int[] cellOf = new int[n];
+            int[] rank = new int[n];
+            for (int node = 0; node < n; node++) {
+                cellOf[node] = in.readInt();
+                rank[node] = in.readInt();
+            }
+            int m = in.readInt();
+            int[] from = new int[m], to = new int[m], weight = new int[m], first = new int[m], second = new int[m];
+            for (int e = 0; e < m; e++) {
+                from[e] = in.readInt();
+                to[e] = in.readInt();
+                weight[e] = in.readInt();
+                first[e] = in.readInt();
+                second[e] = in.readInt();
+            }
+            return new ContractionHierarchy(grid, gridHash, cellOf, rank, from, to, weight, first, second,
+                    (System.nanoTime() - startTime) / 1_000_000);
+        }
+    }
+
+    private static class QueryState {
+        final long[] forwardDist;
+        final long[] backwardDist;
+        final int[] forwardEdge;
+        final int[] backwardEdge;
+        final int[] forwardStamp;
+        final int[] backwardStamp;
+        final LongMinHeap forwardHeap;
+        final LongMinHeap backwardHeap;
+        int stamp;
+        QueryState(int n) {
+            forwardDist = new long[n];
+            backwardDist = new long[n];
+            forwardEdge = new int[n];
+            backwardEdge = new int[n];
+            forwardStamp = new int[n];
+            backwardStamp = new int[n];
+            forwardHeap = new LongMinHeap(256);
+            backwardHeap = new LongMinHeap(256);
+        }
+        void begin() {
+            stamp++;
+            forwardHeap.clear();
+            backwardHeap.clear();
+        }
+        long dist(boolean forward, int node) {
+            if (forward) return forwardStamp[node] == stamp ? forwardDist[node] : INFINITY;
+            return backwardStamp[node] == stamp ? backwardDist[node] : INFINITY;
+        }
+        void reach(boolean forward, int node, long dist, int edge) {
+            if (forward) {
+                forwardStamp[node] = stamp;
+                forwardDist[node] = dist;
+                forwardEdge[node] = edge;
+                forwardHeap.add((dist << 32) | node);
+            } else {
+                backwardStamp[node] = stamp;
+                backwardDist[node] = dist;
+                backwardEdge[node] = edge;
+                backwardHeap.add((dist << 32) | node);
+            }
+        }
+    }
+
+    private static class IntList {
+        int[] values = new int[4];
+        int size;
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    private static class EdgeList {
+        int[] from = new int[1024], to = new int[1024], weight = new int[1024], first = new int[1024], second = new int[1024];
+        int size;
+        int add(int f, int t, int w, int a, int b) {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+            }
+            from[size] = f;
+            to[size] = t;
+            weight[size] = w;
+            first[size] = a;
+            second[size] = b;
+            return size++;
+        }
+    }
+
+    private static class Builder {
+        final int[] cellOf;
+        final int[] rank;
+        final EdgeList edges = new EdgeList();
+        final IntList[] out;
+        final IntList[] in;
+        final boolean[] contracted;
+        final boolean[] inBatch;
+        final boolean[] dirty;
+        final int[] priority;
+        final int[] deletedNeighbors;
+        final int[][] pendingShortcuts;
+        final ThreadLocal<WitnessSearch> witness;
+
+        Builder(Grid grid, int[] weights) {
+            int rows = grid.getRows(), cols = grid.getCols();
+            int[] nodeOf = new int[weights.length];
+            int n = 0;
+            for (int i = 0; i < weights.length; i++) nodeOf[i] = weights[i] > 0 ? n++ : -1;
+            cellOf = new int[n];
+            for (int i = 0; i < weights.length; i++) if (nodeOf[i] >= 0) cellOf[nodeOf[i]] = i;
+            rank = new int[n];
+            out = new IntList[n];
+            in = new IntList[n];
+            for (int node = 0; node < n; node++) {
+                out[node] = new IntList();
+                in[node] = new IntList();
+            }
+            for (int node = 0; node < n; node++) {
+                int r = cellOf[node] / cols, c = cellOf[node] % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + DR[d], nc = c + DC[d];
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                    int neighbor = nodeOf[nr * cols + nc];
+                    if (neighbor < 0) continue;
+                    int e = edges.add(node, neighbor, weights[nr * cols + nc], -1, -1);
+                    out[node].add(e);
+                    in[neighbor].add(e);
+                }
+            }
+            contracted = new boolean[n];
+            inBatch = new boolean[n];
+            dirty = new boolean[n];
+            Arrays.fill(dirty, true);
+            priority = new int[n];
+            deletedNeighbors = new int[n];
+            pendingShortcuts = new int[n][];
+            final int nodeCount = n;
+            witness = ThreadLocal.withInitial(() -> new WitnessSearch(nodeCount));
+        }
+
+        void contractAll(ExecutorService executor, int threadCount) {
+            int n = cellOf.length;
+            int[] active = new int[n];
+            for (int i = 0; i < n; i++) active[i] = i;
+            int activeCount = n;
+            int nextRank = 0;
+            while (activeCount > 0) {
+                final int[] current = Arrays.copyOf(active, activeCount);
+                parallelFor(executor, threadCount, current, node -> {
+                    if (dirty[node]) {
+                        priority[node] = computeShortcuts(node, witness.get()).length / 3
+                                - liveDegree(node) + deletedNeighbors[node];
+                        dirty[node] = false;
+                    }
+                });
+                int batchSize = 0;
+                int[] batch = new int[current.length];
+                for (int node : current) {
+                    if (isLocalMinimum(node)) batch[batchSize++] = node;
+                }
+                final int[] selected = Arrays.copyOf(batch, batchSize);
+                for (int node : selected) inBatch[node] = true;
+                parallelFor(executor, threadCount, selected, node ->
+                        pendingShortcuts[node] = computeShortcuts(node, witness.get()));
+                for (int node : selected) {
+                    int[] shortcuts = pendingShortcuts[node];
+                    pendingShortcuts[node] = null;
+                    for (int i = 0; i < shortcuts.length; i += 3) {
+                        addShortcut(shortcuts[i], shortcuts[i + 1], shortcuts[i + 2]);
+                    }
+                    rank[node] = nextRank++;
+                    contracted[node] = true;
+                    inBatch[node] = false;
+                    markNeighbors(node);
+                }
+                activeCount = 0;
+                for (int node : current) {
+                    if (!contracted[node]) active[activeCount++] = node;
+                }
+            }
+        }
+
+        private void parallelFor(ExecutorService executor, int threadCount, int[] items, java.util.function.IntConsumer body) {
+            int chunk = Math.max(64, items.length / (threadCount * 4) + 1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < items.length; from += chunk) {
+                final int lo = from, hi = Math.min(items.length, from + chunk);
+                futures.add(executor.submit(() -> {
+                    for (int i = lo; i < hi; i++) body.accept(items[i]);
+                }));
+            }
+            try {
+                for (Future<?> future : futures) future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Contraction interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Contraction failed", e.getCause());
+            }
+        }
+
+        private boolean isLocalMinimum(int node) {
+            IntList[] lists = {out[node], in[node]};
+            for (int k = 0; k < 2; k++) {
+                IntList list = lists[k];
+                for (int i = 0; i < list.size; i++) {
+                    int e = list.values[i];
+                    int other = k == 0 ? edges.to[e] : edges.from[e];
+                    if (contracted[other]) continue;
+                    if (priority[other] < priority[node] || (priority[other] == priority[node] && other < node)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private int liveDegree(int node) {
+            int degree = 0;
+            for (int i = 0; i < out[node].size; i++) if (!contracted[edges.to[out[node].values[i]]]) degree++;
+            for (int i = 0; i < in[node].size; i++) if (!contracted[edges.from[in[node].values[i]]]) degree++;
+            return degree;
+        }
+
+        private void markNeighbors(int node) {
+            for (int i = 0; i < out[node].size; i++) {
+                int other = edges.to[out[node].values[i]];
+                dirty[other] = true;
+                deletedNeighbors[other]++;
+            }
+            for (int i = 0; i < in[node].size; i++) {
+                int other = edges.from[in[node].values[i]];
+                dirty[other] = true;
+                deletedNeighbors[other]++;
+            }
+        }
+
+        private void addShortcut(int inEdge, int outEdge, int weight) {
+            int from = edges.from[inEdge];
+            int to = edges.to[outEdge];
+            IntList existing = out[from];
+            for (int i = 0; i < existing.size; i++) {
+                int e = existing.values[i];
+                if (edges.to[e] == to && edges.weight[e] <= weight) return;
+            }
+            int e = edges.add(from, to, weight, inEdge, outEdge);
+            out[from].add(e);
+            in[to].add(e);
+        }
+
+        private boolean isBestParallelEdge(IntList list, int edge, boolean bySource) {
+            int endpoint = bySource ? edges.from[edge] : edges.to[edge];
+            for (int i = 0; i < list.size; i++) {
+                int e = list.values[i];
+                if (e == edge || (bySource ? edges.from[e] : edges.to[e]) != endpoint) continue;
+                if (edges.weight[e] < edges.weight[edge] || (edges.weight[e] == edges.weight[edge] && e < edge)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Returns (inEdge, outEdge, weight) triples for every shortcut that contracting node requires.
+        private int[] computeShortcuts(int node, WitnessSearch search) {
+            IntList result = new IntList();
+            IntList inList = in[node], outList = out[node];
+            for (int i = 0; i < inList.size; i++) {
+                int inEdge = inList.values[i];
+                int u = edges.from[inEdge];
+                if (contracted[u] || !isBestParallelEdge(inList, inEdge, true)) continue;
+                long maxTarget = -1;
+                for (int j = 0; j < outList.size; j++) {
+                    int outEdge = outList.values[j];
+                    int w = edges.to[outEdge];
+                    if (contracted[w] || w == u) continue;
+                    maxTarget = Math.max(maxTarget, (long) edges.weight[inEdge] + edges.weight[outEdge]);
+                }
+                if (maxTarget < 0) continue;
+                search.run(this, u, node, maxTarget);
+                for (int j = 0; j < outList.size; j++) {
+                    int outEdge = outList.values[j];
+                    int w = edges.to[outEdge];
+                    if (contracted[w] || w == u || !isBestParallelEdge(outList, outEdge, false)) continue;
+                    long via = (long) edges.weight[inEdge] + edges.weight[outEdge];
+                    if (search.dist(w) > via) {
+                        result.add(inEdge);
+                        result.add(outEdge);
+                        result.add((int) via);
+                    }
+                }
+            }
+            return Arrays.copyOf(result.values, result.size);
+        }
+    }
+
+    private static class WitnessSearch {
+        final long[] dist;
+        final int[] stamp;
+        final LongMinHeap heap = new LongMinHeap(256);
+        int current;
+        WitnessSearch(int n) {
+            dist = new long[n];
+            stamp = new int[n];
+        }
+        long dist(int node) {
+            return stamp[node] == current ? dist[node] : INFINITY;
+        }
+        // Bounded Dijkstra that avoids the node being contracted and every node of the current batch.
+        void run(Builder builder, int source, int excluded, long limit) {
+            current++;
+            heap.clear();
+            dist[source] = 0;
+            stamp[source] = current;
+            heap.add(source);
+            int settled = 0;
+            while (!heap.isEmpty() && settled++ < WITNESS_SETTLE_LIMIT) {
+                long key = heap.poll();
+                int u = (int) key;
+                long uDist = key >>> 32;
+                if (uDist > dist(u)) continue;
+                if (uDist > limit) break;
+                IntList list = builder.out[u];
+                for (int i = 0; i < list.size; i++) {
+                    int e = list.values[i];
+                    int v = builder.edges.to[e];
+                    if (v == excluded || builder.contracted[v] || builder.inBatch[v]) continue;
+                    long alt = uDist + builder.edges.weight[e];
+                    if (alt < dist(v)) {
+                        dist[v] = alt;
+                        stamp[v] = current;
+                        heap.add((alt << 32) | v);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package algorithm;
+
+import core.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cooperative A*: each request (agent id = request id) runs a space-time A* that avoids cells,
+ * moves and parked goals reserved by other agents, then commits its route to the shared
+ * {@link ReservationTable}. Commits are optimistic; if another agent reserved a conflicting
+ * step in the meantime the route is replanned against the updated table. Waiting in place is
+ * allowed and costs the weight of the occupied cell. The heuristic is the exact static
+ * cost-to-goal from a reverse Dijkstra, so only conflicts make a route deviate.
+ */
+public class CooperativePathFinder implements PathFinder {
+    private static final int MAX_REPLANS = 64;
+    private static final int[] DR = {-1, 0, 0, 1, 0};
+    private static final int[] DC = {0, -1, 1, 0, 0}; // the last entry is "wait"
+
+    private final ReservationTable table;
+    private final AtomicLong replans = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong expandedStates = new AtomicLong();
+
+    public CooperativePathFinder(ReservationTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public Path findPath(PathRequest request) {
+        Grid grid = request.getGrid();
+        int cols = grid.getCols();
+        int[] weights = grid.toWeightArray();
+        int agent = request.getRequestId();
+        int start = request.getStartCell().getRow() * cols + request.getStartCell().getCol();
+        int goal = request.getGoalCell().getRow() * cols + request.getGoalCell().getCol();
+        if (weights[start] <= 0 || weights[goal] <= 0) {
+            return Path.notFound();
+        }
+        long[] costToGoal = reverseCosts(weights, grid.getRows(), cols, goal);
+        if (costToGoal[start] == Long.MAX_VALUE) {
+            return Path.notFound();
+        }
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        int horizon = 2 * (grid.getRows() + cols) + (int) Math.min(weights.length, costToGoal[start]);
+        Path.Status[] stop = new Path.Status[1];
+        try {
+            return planAndCommit(grid, agent, start, goal, weights, costToGoal, horizon, budget, stop);
+        } finally {
+            expandedStates.addAndGet(budget.getExpandedNodes());
+        }
+    }
+
+    private Path planAndCommit(Grid grid, int agent, int start, int goal, int[] weights, long[] costToGoal,
+                               int horizon, SearchBudget budget, Path.Status[] stop) {
+        int cols = grid.getCols();
+        for (int attempt = 0; attempt <= MAX_REPLANS; attempt++) {
+            int[] route = plan(agent, start, goal, weights, grid.getRows(), cols, costToGoal, horizon, budget, stop);
+            if (route == null) {
+                return stop[0] != null ? Path.limitReached(stop[0], List.of(), 0, budget.getExpandedNodes()) : Path.notFound();
+            }
+            if (table.tryReserve(agent, route)) {
+                commits.incrementAndGet();
+                List<Cell> cells = new ArrayList<>(route.length);
+                long cost = 0;
+                for (int t = 0; t < route.length; t++) {
+                    cells.add(grid.getCell(route[t] / cols, route[t] % cols));
+                    if (t > 0) cost += weights[route[t]];
+                }
+                return new Path(cells, cost, budget.getExpandedNodes());
+            }
+            replans.incrementAndGet();
+        }
+        return Path.notFound();
+    }
+
+    private int[] plan(int agent, int start, int goal, int[] weights, int rows, int cols, long[] costToGoal,
+                       int horizon, SearchBudget budget, Path.Status[] stop) {
+        int capacity = 1024;
+        int[] nodeCell = new int[capacity];
+        int[] nodeTime = new int[capacity];
+        long[] nodeCost = new long[capacity];
+        int[] nodeParent = new int[capacity];
+        int nodeCount = 0;
+        Map<Long, Long> bestCost = new HashMap<>();
+        LongMinHeap open = new LongMinHeap(1024);
+
+        nodeCell[0] = start;
+        nodeTime[0] = 0;
+        nodeCost[0] = 0;
+        nodeParent[0] = -1;
+        nodeCount = 1;
+        bestCost.put((long) start, 0L);
+        open.add((costToGoal[start] << 32) | 0);
+        while (!open.isEmpty()) {
+            int node = (int) open.poll();
+            int cell = nodeCell[node], time = nodeTime[node];
+            long cost = nodeCost[node];
+            long stateKey = (long) time * weights.length + cell;
+            if (bestCost.getOrDefault(stateKey, Long.MAX_VALUE) < cost) continue;
+            stop[0] = budget.onExpand(cost);
+            if (stop[0] != null) return null;
+            if (cell == goal && table.canPark(agent, goal, time)) {
+                int[] route = new int[time + 1];
+                for (int n = node; n >= 0; n = nodeParent[n]) route[nodeTime[n]] = nodeCell[n];
+                return route;
+            }
+            if (time >= horizon) continue;
+            int r = cell / cols, c = cell % cols;
+            for (int d = 0; d < DR.length; d++) {
+                int nr = r + DR[d], nc = c + DC[d];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                int next = nr * cols + nc;
+                if (weights[next] <= 0 || costToGoal[next] == Long.MAX_VALUE) continue;
+                if (!table.isFree(agent, next, time + 1) || !table.isMoveFree(agent, cell, next, time)) continue;
+                long nextCost = cost + weights[next];
+                long nextKey = (long) (time + 1) * weights.length + next;
+                if (nextCost >= bestCost.getOrDefault(nextKey, Long.MAX_VALUE)) continue;
+                bestCost.put(nextKey, nextCost);
+                if (nodeCount == capacity) {
+                    capacity *= 2;
+                    nodeCell = Arrays.copyOf(nodeCell, capacity);
+                    nodeTime = Arrays.copyOf(nodeTime, capacity);
+                    nodeCost = Arrays.copyOf(nodeCost, capacity);
+                    nodeParent = Arrays.copyOf(nodeParent, capacity);
+                }
+                nodeCell[nodeCount] = next;
+                nodeTime[nodeCount] = time + 1;
+                nodeCost[nodeCount] = nextCost;
+                nodeParent[nodeCount] = node;
+                open.add(((nextCost + costToGoal[next]) << 32) | nodeCount);
+                nodeCount++;
+            }
+        }
+        return null;
+    }
+
+    // Cost of the cheapest route from every cell to the goal, ignoring other agents.
+    private static long[] reverseCosts(int[] weights, int rows, int cols, int goal) {
+        long[] dist = new long[weights.length];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        LongMinHeap heap = new LongMinHeap(1024);
+        dist[goal] = 0;
+        heap.add(goal);
+        while (!heap.isEmpty()) {
+            long key = heap.poll();
+            int u = (int) key;
+            long uDist = key >>> 32;
+            if (uDist > dist[u]) continue;
+            int r = u / cols, c = u % cols;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d], nc = c + DC[d];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                int p = nr * cols + nc;
+                if (weights[p] <= 0) continue;
+                long alt = uDist + weights[u];
+                if (alt < dist[p]) {
+                    dist[p] = alt;
+                    heap.add((alt << 32) | p);
+                }
+            }
+        }
+        return dist;
+    }
+
+    public ReservationTable getTable() { return table; }
+    public long getReplanCount() { return replans.get(); }
+    public long getCommitCount() { return commits.get(); }
+    public long getExpandedStates() { return expandedStates.get(); }
+
+    @Override
+    public String getFinderName() {
+        return "Cooperative A* (Space-Time Reservations)";
+    }
+}
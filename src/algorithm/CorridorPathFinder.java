@@ -0,0 +1,248 @@
+package algorithm;
+
+import core.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A* restricted to a box around the start and goal, widened until the result is provably good
+ * enough. The heuristic is minWeight * manhattan scaled by epsilon: epsilon = 1 gives exact
+ * costs, larger values give weighted A* with costs at most epsilon times optimal.
+ *
+ * <p>A route that leaves the box first crosses its border from some cell u. If u was never
+ * expanded, the usual A* argument already bounds the route by the result. If u was expanded
+ * with cost g(u), the route costs at least g(u)/epsilon + w(v) + minWeight * manhattan(v, goal)
+ * for the outside neighbour v, so the search keeps the smallest such escape bound. A result
+ * within epsilon of it is accepted; otherwise the margin doubles. No route and no escape means
+ * the goal is unreachable.
+ */
+public class CorridorPathFinder implements PathFinder {
+    public static final int DEFAULT_MARGIN = 16;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final double epsilon;
+    private final int initialMargin;
+    private final ThreadLocal<SearchState> searchState = ThreadLocal.withInitial(SearchState::new);
+    private volatile Prepared prepared;
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong widenings = new AtomicLong();
+
+    public CorridorPathFinder() {
+        this(1.0, DEFAULT_MARGIN);
+    }
+    public CorridorPathFinder(double epsilon) {
+        this(epsilon, DEFAULT_MARGIN);
+    }
+    public CorridorPathFinder(double epsilon, int initialMargin) {
+        if (epsilon < 1.0) {
+            throw new IllegalArgumentException("epsilon must be at least 1, got " + epsilon);
+        }
+        this.epsilon = epsilon;
+        this.initialMargin = Math.max(1, initialMargin);
+    }
+
+    private static final class Prepared {
+        final Grid grid;
+        final int[] weights;
+        final int minWeight;
+        Prepared(Grid grid) {
+            this.grid = grid;
+            this.weights = grid.toWeightArray();
+            this.minWeight = Math.max(1, GridAnalysis.of(grid).getMinWalkableWeight());
+        }
+    }
+
+    private static final class SearchState {
+        long[] dist = new long[0];
+        int[] prev = new int[0];
+        int[] stamp = new int[0];   // dist/prev are valid where stamp == generation
+        int[] closed = new int[0];  // expanded where closed == generation
+        int generation;
+        final LongMinHeap heap = new LongMinHeap(1024);
+        int[] border = new int[64]; // expanded cells with a walkable neighbour outside the box
+        int borderSize;
+        double escapeBound;         // smallest g(u) + epsilon * (w(v) + minWeight * manhattan(v, goal)) across the border
+        int top, bottom, left, right;
+
+        void begin(int capacity) {
+            if (stamp.length < capacity) {
+                dist = new long[capacity];
+                prev = new int[capacity];
+                stamp = new int[capacity];
+                closed = new int[capacity];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(closed, 0);
+                generation = 1;
+            }
+            heap.clear(capacity);
+            borderSize = 0;
+            escapeBound = Double.POSITIVE_INFINITY;
+        }
+        long distance(int slot) {
+            return stamp[slot] == generation ? dist[slot] : Cell.UNREACHED;
+        }
+        boolean isClosed(int slot) {
+            return closed[slot] == generation;
+        }
+    }
+
+    @Override
+    public Path findPath(PathRequest request) {
+        Grid grid = request.getGrid();
+        Prepared p = prepare(grid);
+        int rows = grid.getRows(), cols = grid.getCols();
+        Cell startCell = request.getStartCell();
+        Cell goalCell = request.getGoalCell();
+        int start = startCell.getRow() * cols + startCell.getCol();
+        int goal = goalCell.getRow() * cols + goalCell.getCol();
+        if (p.weights[start] <= 0 || p.weights[goal] <= 0) {
+            return Path.notFound();
+        }
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        SearchState state = searchState.get();
+        searches.incrementAndGet();
+        int minRow = Math.min(startCell.getRow(), goalCell.getRow()), maxRow = Math.max(startCell.getRow(), goalCell.getRow());
+        int minCol = Math.min(startCell.getCol(), goalCell.getCol()), maxCol = Math.max(startCell.getCol(), goalCell.getCol());
+        state.begin(rows * cols);
+        state.stamp[start] = state.generation;
+        state.dist[start] = 0;
+        state.prev[start] = -1;
+        state.heap.push(heuristic(p, start, goal, cols), start);
+        for (long margin = initialMargin; ; margin *= 2) {
+            state.top = (int) Math.max(0, minRow - margin);
+            state.bottom = (int) Math.min(rows - 1, maxRow + margin);
+            state.left = (int) Math.max(0, minCol - margin);
+            state.right = (int) Math.min(cols - 1, maxCol + margin);
+            boolean wholeGrid = state.top == 0 && state.left == 0 && state.bottom == rows - 1 && state.right == cols - 1;
+            if (margin > initialMargin) {
+                resumeAcrossBorder(p, state, goal, rows, cols);
+            }
+            Path.Status stop = search(p, state, goal, rows, cols, budget);
+            if (stop != null) {
+                return Path.limitReached(stop, List.of(), 0, budget.getExpandedNodes());
+            }
+            boolean found = state.isClosed(goal);
+            if (found && (wholeGrid || state.dist[goal] <= state.escapeBound)) {
+                return toPath(grid, p, state, start, goal, budget);
+            }
+            if (!found && (wholeGrid || state.escapeBound == Double.POSITIVE_INFINITY)) {
+                return Path.notFound();
+            }
+            widenings.incrementAndGet();
+            if (found) {
+                // The goal has to be popped again once the cells beyond the old border have had their turn.
+                state.closed[goal] = 0;
+                state.heap.push(state.dist[goal], goal);
+            }
+        }
+    }
+
+    // Expands until the goal is popped or the box is exhausted; the heap and closed set survive widening.
+    private Path.Status search(Prepared p, SearchState state, int goal, int rows, int cols, SearchBudget budget) {
+        LongMinHeap heap = state.heap;
+        while (!heap.isEmpty()) {
+            int u = heap.pop();
+            if (state.isClosed(u) || heap.poppedCost() != state.dist[u] + heuristic(p, u, goal, cols)) continue;
+            long uDist = state.dist[u];
+            Path.Status stop = budget.onExpand(uDist);
+            if (stop != null) return stop;
+            state.closed[u] = state.generation;
+            if (u == goal) return null;
+            expand(p, state, u, goal, rows, cols);
+        }
+        return null;
+    }
+
+    // Cells that were on the old border reach across it now; their remaining outside neighbours form the new bound.
+    private void resumeAcrossBorder(Prepared p, SearchState state, int goal, int rows, int cols) {
+        int[] oldBorder = Arrays.copyOf(state.border, state.borderSize);
+        state.borderSize = 0;
+        state.escapeBound = Double.POSITIVE_INFINITY;
+        for (int u : oldBorder) {
+            if (state.isClosed(u)) expand(p, state, u, goal, rows, cols);
+        }
+    }
+
+    private void expand(Prepared p, SearchState state, int u, int goal, int rows, int cols) {
+        int r = u / cols, c = u % cols;
+        boolean onBorder = false;
+        for (int d = 0; d < 4; d++) {
+            int nr = r + DR[d], nc = c + DC[d];
+            if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+            int v = nr * cols + nc;
+            int w = p.weights[v];
+            if (w <= 0) continue;
+            if (nr < state.top || nr > state.bottom || nc < state.left || nc > state.right) {
+                double bound = state.dist[u] + epsilon * (w + (double) p.minWeight * manhattan(v, goal, cols));
+                state.escapeBound = Math.min(state.escapeBound, bound);
+                onBorder = true;
+                continue;
+            }
+            long alt = state.dist[u] + w;
+            if (alt < state.distance(v)) {
+                // Reopens v if it was closed: only happens after widening exposed a cheaper route.
+                state.stamp[v] = state.generation;
+                state.dist[v] = alt;
+                state.prev[v] = u;
+                state.closed[v] = 0;
+                state.heap.push(alt + heuristic(p, v, goal, cols), v);
+            }
+        }
+        if (onBorder) {
+            if (state.borderSize == state.border.length) state.border = Arrays.copyOf(state.border, state.borderSize * 2);
+            state.border[state.borderSize++] = u;
+        }
+    }
+
+    private long heuristic(Prepared p, int slot, int goal, int cols) {
+        return (long) (epsilon * p.minWeight * manhattan(slot, goal, cols));
+    }
+    private static int manhattan(int a, int b, int cols) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    // The cost is summed along the route rather than read from dist[goal]: reopening a cell after widening
+    // rewires prev through it, but closed cells downstream (the goal among them) keep their older, higher dist.
+    private static Path toPath(Grid grid, Prepared p, SearchState state, int start, int goal, SearchBudget budget) {
+        int cols = grid.getCols();
+        int steps = 0;
+        long cost = 0;
+        for (int cur = goal; cur != start; cur = state.prev[cur]) {
+            steps++;
+            cost += p.weights[cur];
+        }
+        long[] moves = new long[CompactPath.wordsFor(steps)];
+        int step = steps;
+        for (int cur = goal; cur != start; cur = state.prev[cur]) {
+            int from = state.prev[cur];
+            CompactPath.setMove(moves, --step, CompactPath.moveBetween(from / cols, from % cols, cur / cols, cur % cols));
+        }
+        return new CompactPath(grid, start / cols, start % cols, steps, moves, cost, Path.Status.FOUND,
+                budget.getExpandedNodes());
+    }
+
+    private Prepared prepare(Grid grid) {
+        Prepared p = prepared;
+        if (p == null || p.grid != grid) {
+            p = new Prepared(grid);
+            prepared = p;
+        }
+        return p;
+    }
+
+    public double getEpsilon() { return epsilon; }
+    public long getSearchCount() { return searches.get(); }
+    public long getWideningCount() { return widenings.get(); }
+
+    @Override
+    public String getFinderName() {
+        return epsilon == 1.0 ? "A* (Adaptive Corridor, Exact)"
+                : String.format("Weighted A* (Corridor, epsilon=%.2f)", epsilon);
+    }
+}
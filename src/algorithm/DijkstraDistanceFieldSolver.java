@@ -0,0 +1,50 @@
+package algorithm;
+
+import core.*;
+
+import java.util.Arrays;
+
+// Reverse Dijkstra from the goal; the priority-queue reference for the sweep solver.
+public class DijkstraDistanceFieldSolver implements DistanceFieldSolver {
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    @Override
+    public DistanceField computeField(Grid grid, Cell goal) {
+        long start = System.nanoTime();
+        int rows = grid.getRows(), cols = grid.getCols();
+        int[] weights = grid.toWeightArray();
+        long[] dist = new long[weights.length];
+        Arrays.fill(dist, DistanceField.UNREACHABLE);
+        int goalIndex = goal.getRow() * cols + goal.getCol();
+        if (weights[goalIndex] > 0) {
+            LongMinHeap heap = new LongMinHeap(1024);
+            heap.clear(weights.length);
+            dist[goalIndex] = 0;
+            heap.push(0, goalIndex);
+            while (!heap.isEmpty()) {
+                int u = heap.pop();
+                long uDist = heap.poppedCost();
+                if (uDist > dist[u]) continue;
+                int r = u / cols, c = u % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + DR[d], nc = c + DC[d];
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                    int p = nr * cols + nc;
+                    if (weights[p] <= 0) continue;
+                    long alt = uDist + weights[u];
+                    if (alt < dist[p]) {
+                        dist[p] = alt;
+                        heap.push(alt, p);
+                    }
+                }
+            }
+        }
+        return new DistanceField(grid, goal, dist, 1, System.nanoTime() - start);
+    }
+
+    @Override
+    public String getSolverName() {
+        return "Reverse Dijkstra Distance Field";
+    }
+}
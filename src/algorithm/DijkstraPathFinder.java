@@ -12,61 +12,97 @@ public class DijkstraPathFinder implements PathFinder {
         Grid grid = request.getGrid();
         Cell start = request.getStartCell();
         Cell goal = request.getGoalCell();
-        Map<Cell, Double> dist = new HashMap<>();
+        if (!grid.isWalkable(start) || !grid.isWalkable(goal)) {
+            return Path.notFound();
+        }
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        int cols = grid.getCols();
+        Map<Cell, Long> dist = new HashMap<>();
         Map<Cell, Cell> prev = new HashMap<>();
         Set<Cell> visited = new HashSet<>();
-        TreeSet<Cell> pq = new TreeSet<>(
-                Comparator.comparingDouble((Cell c) -> dist.getOrDefault(c, Double.POSITIVE_INFINITY))
-                        .thenComparingInt(Cell::getRow)
-                        .thenComparingInt(Cell::getCol)
-        );
+        // Entries are (cost, row * cols + col), so the heap order is the (cost, row, col) order.
+        LongMinHeap pq = new LongMinHeap(256);
+        pq.clear(grid.getRows() * cols);
+        Cell closest = start;
+        int closestDistance = manhattan(start, goal);
 
-        dist.put(start, 0.0);
-        pq.add(start);
+        Relaxation relax = new Relaxation(dist, prev, visited, pq, cols);
+
+        dist.put(start, 0L);
+        pq.push(0, start.getRow() * cols + start.getCol());
         while (!pq.isEmpty()) {
-            Cell u = pq.pollFirst();
-            double uDist = dist.get(u);
-            if (visited.contains(u)) continue;
+            int slot = pq.pop();
+            Cell u = grid.getCell(slot / cols, slot % cols);
+            long uDist = pq.poppedCost();
+            if (visited.contains(u) || uDist > dist.get(u)) continue;
+            Path.Status stop = budget.onExpand(uDist);
+            if (stop != null) {
+                return Path.limitReached(stop, reconstruct(prev, start, closest), dist.get(closest),
+                        budget.getExpandedNodes());
+            }
             visited.add(u);
             if (u.equals(goal)) break;
-            List<Cell> neighbors = new ArrayList<>(grid.getNeighbors(u));
-            neighbors.sort((a, b) -> {
-                int rowCmp = Integer.compare(a.getRow(), b.getRow());
-                if (rowCmp != 0) return rowCmp;
-                return Integer.compare(a.getCol(), b.getCol());
-            });
-
-            for (Cell v : neighbors) {
-                if (visited.contains(v)) continue;
-                double alt = uDist + v.getWeight();
-                double oldDist = dist.getOrDefault(v, Double.POSITIVE_INFINITY);
-                if (alt < oldDist) {
-                    pq.remove(v);
-                    dist.put(v, alt);
-                    prev.put(v, u);
-                    pq.add(v);
-                }
+            int distanceToGoal = manhattan(u, goal);
+            if (distanceToGoal < closestDistance) {
+                closest = u;
+                closestDistance = distanceToGoal;
             }
+            relax.from(u, uDist);
+            grid.forEachNeighbor(u, relax);
         }
 
         if (!dist.containsKey(goal)) {
             return Path.notFound();
         }
+        return CompactPath.fromPredecessors(grid, prev, start, goal, dist.get(goal), budget.getExpandedNodes());
+    }
+    // One per search, reused for every expansion so visiting neighbours allocates nothing.
+    private static final class Relaxation implements NeighborVisitor {
+        final Map<Cell, Long> dist;
+        final Map<Cell, Cell> prev;
+        final Set<Cell> visited;
+        final LongMinHeap pq;
+        final int cols;
+        Cell u;
+        long uDist;
+        Relaxation(Map<Cell, Long> dist, Map<Cell, Cell> prev, Set<Cell> visited, LongMinHeap pq, int cols) {
+            this.dist = dist;
+            this.prev = prev;
+            this.visited = visited;
+            this.pq = pq;
+            this.cols = cols;
+        }
+        void from(Cell u, long uDist) {
+            this.u = u;
+            this.uDist = uDist;
+        }
+        @Override
+        public void visit(Cell v) {
+            if (visited.contains(v)) return;
+            long alt = uDist + v.getWeight();
+            if (alt < dist.getOrDefault(v, Cell.UNREACHED)) {
+                dist.put(v, alt);
+                prev.put(v, u);
+                pq.push(alt, v.getRow() * cols + v.getCol());
+            }
+        }
+    }
+    private static List<Cell> reconstruct(Map<Cell, Cell> prev, Cell start, Cell end) {
         List<Cell> path = new ArrayList<>();
-        Cell cur = goal;
+        Cell cur = end;
         while (cur != null) {
             path.add(cur);
             if (cur.equals(start)) break;
             cur = prev.get(cur);
         }
         Collections.reverse(path);
-        double totalCost = dist.get(goal);
-        return new Path(path, totalCost);
+        return path;
+    }
+    private static int manhattan(Cell a, Cell b) {
+        return Math.abs(a.getRow() - b.getRow()) + Math.abs(a.getCol() - b.getCol());
     }
     @Override
     public String getFinderName() {
         return "Dijkstra (Stable Deterministic)";
     }
 }
-
-
@@ -0,0 +1,75 @@
+package algorithm;
+
+import core.*;
+
+import java.util.Arrays;
+
+/**
+ * Cost from every cell to one goal (moving into a cell costs its weight), stored row-major.
+ * Any number of agents heading to the goal can follow the field downhill without another search.
+ */
+public class DistanceField {
+    public static final long UNREACHABLE = Cell.UNREACHED;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1}; // same order as CompactPath.UP, DOWN, LEFT, RIGHT
+
+    private final Grid grid;
+    private final Cell goal;
+    private final long[] costs; // long like every other search cost, so heavy grids cannot wrap
+    private final int iterations;
+    private final long computeTimeNanos;
+
+    public DistanceField(Grid grid, Cell goal, long[] costs, int iterations, long computeTimeNanos) {
+        this.grid = grid;
+        this.goal = goal;
+        this.costs = costs;
+        this.iterations = iterations;
+        this.computeTimeNanos = computeTimeNanos;
+    }
+
+    public long getCost(int row, int col) {
+        return costs[row * grid.getCols() + col];
+    }
+    public boolean isReachable(Cell cell) {
+        return getCost(cell.getRow(), cell.getCol()) != UNREACHABLE;
+    }
+
+    // Downhill move from (row, col), or -1 at the goal and on unreachable cells.
+    public int getMove(int row, int col) {
+        int cols = grid.getCols();
+        long cost = getCost(row, col);
+        if (cost == UNREACHABLE || cost == 0) return -1;
+        for (int d = 0; d < 4; d++) {
+            int nr = row + DR[d], nc = col + DC[d];
+            if (nr < 0 || nr >= grid.getRows() || nc < 0 || nc >= cols) continue;
+            long next = costs[nr * cols + nc];
+            Cell cell = grid.getCell(nr, nc);
+            if (next != UNREACHABLE && grid.isWalkable(cell) && next + cell.getWeight() == cost) return d;
+        }
+        return -1;
+    }
+
+    public Path pathFrom(Cell start) {
+        long cost = getCost(start.getRow(), start.getCol());
+        if (cost == UNREACHABLE) {
+            return Path.notFound();
+        }
+        int steps = 0;
+        int row = start.getRow(), col = start.getCol();
+        long[] moves = new long[CompactPath.wordsFor(64)];
+        for (int move = getMove(row, col); move >= 0; move = getMove(row, col)) {
+            if (CompactPath.wordsFor(steps + 1) > moves.length) {
+                moves = Arrays.copyOf(moves, moves.length * 2);
+            }
+            CompactPath.setMove(moves, steps++, move);
+            row += DR[move];
+            col += DC[move];
+        }
+        return new CompactPath(grid, start.getRow(), start.getCol(), steps, moves, cost, Path.Status.FOUND, 0);
+    }
+
+    public Grid getGrid() { return grid; }
+    public Cell getGoal() { return goal; }
+    public int getIterations() { return iterations; }
+    public double getComputeTimeMs() { return computeTimeNanos / 1_000_000.0; }
+}
@@ -0,0 +1,9 @@
+package algorithm;
+
+import core.Cell;
+import core.Grid;
+
+public interface DistanceFieldSolver {
+    DistanceField computeField(Grid grid, Cell goal);
+    String getSolverName();
+}
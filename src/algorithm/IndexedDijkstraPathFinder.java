@@ -0,0 +1,184 @@
+package algorithm;
+
+import core.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dijkstra over primitive arrays addressed through the grid's {@link CellIndex}, so distance,
+ * predecessor and weight lookups follow the chosen memory layout. Ties are broken by slot index,
+ * which for the row-major layout matches the (row, col) order of {@link DijkstraPathFinder}.
+ * Search arrays are kept per thread and cleared lazily with a generation stamp.
+ */
+public class IndexedDijkstraPathFinder implements PathFinder {
+    private final ThreadLocal<SearchState> searchState = ThreadLocal.withInitial(SearchState::new);
+    private volatile Prepared prepared;
+
+    private static final class Prepared {
+        final Grid grid;
+        final CellIndex index;
+        final int[] weights;
+        Prepared(Grid grid, CellIndex index) {
+            this.grid = grid;
+            this.index = index;
+            this.weights = grid.toWeightArray(index);
+        }
+    }
+
+    private static final class SearchState {
+        long[] dist = new long[0];
+        int[] prev = new int[0];
+        int[] stamp = new int[0];   // dist/prev are valid where stamp == generation
+        boolean[] settled = new boolean[0];
+        int generation;
+        final LongMinHeap heap = new LongMinHeap(1024);
+
+        void begin(int capacity) {
+            if (stamp.length < capacity) {
+                dist = new long[capacity];
+                prev = new int[capacity];
+                stamp = new int[capacity];
+                settled = new boolean[capacity];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            heap.clear(capacity);
+        }
+        boolean isSettled(int slot) {
+            return stamp[slot] == generation && settled[slot];
+        }
+        long distance(int slot) {
+            return stamp[slot] == generation ? dist[slot] : Long.MAX_VALUE;
+        }
+        void relax(int slot, long d, int from) {
+            stamp[slot] = generation;
+            dist[slot] = d;
+            prev[slot] = from;
+            settled[slot] = false;
+        }
+    }
+
+    @Override
+    public Path findPath(PathRequest request) {
+        Grid grid = request.getGrid();
+        Prepared p = prepare(grid);
+        CellIndex index = p.index;
+        Cell startCell = request.getStartCell();
+        Cell goalCell = request.getGoalCell();
+        int start = index.index(startCell.getRow(), startCell.getCol());
+        int goal = index.index(goalCell.getRow(), goalCell.getCol());
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        SearchState state = searchState.get();
+        Path.Status stop = search(index, p.weights, start, goal, budget, state);
+        if (stop != null) {
+            int closest = closestSettled(index, state, start, goal);
+            return Path.limitReached(stop, cellsTo(grid, index, state, start, closest), state.distance(closest),
+                    budget.getExpandedNodes());
+        }
+        if (!state.isSettled(goal)) {
+            return Path.notFound();
+        }
+        int steps = 0;
+        for (int cur = goal; cur != start; cur = state.prev[cur]) steps++;
+        long[] moves = new long[CompactPath.wordsFor(steps)];
+        int step = steps;
+        for (int cur = goal; cur != start; cur = state.prev[cur]) {
+            int from = state.prev[cur];
+            CompactPath.setMove(moves, --step,
+                    CompactPath.moveBetween(index.row(from), index.col(from), index.row(cur), index.col(cur)));
+        }
+        return new CompactPath(grid, startCell.getRow(), startCell.getCol(), steps, moves, state.dist[goal],
+                Path.Status.FOUND, budget.getExpandedNodes());
+    }
+
+    // Entry point for callers that already hold a laid-out weight array and never build Cell objects.
+    public long shortestCost(CellIndex index, int[] weights, int start, int goal) {
+        SearchState state = searchState.get();
+        search(index, weights, start, goal, new SearchBudget(SearchLimits.NONE), state);
+        return state.isSettled(goal) ? state.dist[goal] : -1;
+    }
+
+    private static Path.Status search(CellIndex index, int[] weights, int start, int goal, SearchBudget budget,
+                                      SearchState state) {
+        state.begin(index.getCapacity());
+        if (weights[start] <= 0) return null;
+        state.relax(start, 0, -1);
+        state.heap.push(0, start);
+        LongMinHeap heap = state.heap;
+        while (!heap.isEmpty()) {
+            int u = heap.pop();
+            long uDist = heap.poppedCost();
+            if (state.settled[u] || uDist > state.dist[u]) continue;
+            Path.Status stop = budget.onExpand(uDist);
+            if (stop != null) return stop;
+            state.settled[u] = true;
+            if (u == goal) return null;
+            int r = index.row(u), c = index.col(u);
+            relaxNeighbor(index, weights, state, u, uDist, r - 1, c);
+            relaxNeighbor(index, weights, state, u, uDist, r + 1, c);
+            relaxNeighbor(index, weights, state, u, uDist, r, c - 1);
+            relaxNeighbor(index, weights, state, u, uDist, r, c + 1);
+        }
+        return null;
+    }
+
+    private static void relaxNeighbor(CellIndex index, int[] weights, SearchState state, int u, long uDist,
+                                      int row, int col) {
+        if (!index.contains(row, col)) return;
+        int v = index.index(row, col);
+        int w = weights[v];
+        if (w <= 0 || state.isSettled(v)) return;
+        long alt = uDist + w;
+        if (alt < state.distance(v)) {
+            state.relax(v, alt, u);
+            state.heap.push(alt, v);
+        }
+    }
+
+    private Prepared prepare(Grid grid) {
+        Prepared p = prepared;
+        CellIndex index = grid.getCellIndex();
+        if (p == null || p.grid != grid || p.index != index) {
+            p = new Prepared(grid, index);
+            prepared = p;
+        }
+        return p;
+    }
+
+    // Settled slot closest to the goal by Manhattan distance, for partial results.
+    private static int closestSettled(CellIndex index, SearchState state, int start, int goal) {
+        int goalRow = index.row(goal), goalCol = index.col(goal);
+        int best = start;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int slot = 0; slot < index.getCapacity(); slot++) {
+            if (!state.isSettled(slot)) continue;
+            int d = Math.abs(index.row(slot) - goalRow) + Math.abs(index.col(slot) - goalCol);
+            if (d < bestDistance) {
+                best = slot;
+                bestDistance = d;
+            }
+        }
+        return best;
+    }
+
+    private static List<Cell> cellsTo(Grid grid, CellIndex index, SearchState state, int start, int end) {
+        List<Cell> cells = new ArrayList<>();
+        for (int cur = end; ; cur = state.prev[cur]) {
+            cells.add(grid.getCell(index.row(cur), index.col(cur)));
+            if (cur == start) break;
+        }
+        Collections.reverse(cells);
+        return cells;
+    }
+
+    @Override
+    public String getFinderName() {
+        return "Dijkstra (Indexed Layout)";
+    }
+}
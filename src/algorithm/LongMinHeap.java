@@ -0,0 +1,135 @@
+package algorithm;
+
+import java.util.Arrays;
+
+public class LongMinHeap {
+    // push/pop order (cost, slot) entries by packing them as cost << slotBits | slot, so one signed compare
+    // orders by cost, then by slot. slotBits is sized from the slot count passed to clear, leaving the cost
+    // 63 - slotBits bits; a cost that still does not fit switches the heap to separate cost and slot arrays
+    // until the next clear. add/poll/peek take keys the caller packed itself and are not mixed with push/pop.
+    private long[] keys;
+    private int[] slots; // only in wide mode, where keys hold bare costs
+    private int slotBits = Integer.SIZE;
+    private long slotMask = 0xFFFF_FFFFL;
+    private long poppedCost;
+    private int size;
+    public LongMinHeap(int initialCapacity) {
+        this.keys = new long[Math.max(16, initialCapacity)];
+    }
+    public void add(long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            long p = keys[parent];
+            if (p <= key) break;
+            keys[i] = p;
+            i = parent;
+        }
+        keys[i] = key;
+    }
+    public long peek() {
+        return keys[0];
+    }
+    public long poll() {
+        long top = keys[0];
+        long last = keys[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            long c = keys[child];
+            int right = child + 1;
+            if (right < size && keys[right] < c) {
+                child = right;
+                c = keys[right];
+            }
+            if (last <= c) break;
+            keys[i] = c;
+            i = child;
+        }
+        keys[i] = last;
+        return top;
+    }
+
+    public void push(long cost, int slot) {
+        if (slots == null) {
+            if (cost <= Long.MAX_VALUE >>> slotBits) {
+                add(cost << slotBits | slot);
+                return;
+            }
+            widen();
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] < cost || (keys[parent] == cost && slots[parent] <= slot)) break;
+            keys[i] = keys[parent];
+            slots[i] = slots[parent];
+            i = parent;
+        }
+        keys[i] = cost;
+        slots[i] = slot;
+    }
+    // Removes the cheapest entry and returns its slot; its cost is then available from poppedCost().
+    public int pop() {
+        if (slots == null) {
+            long key = poll();
+            poppedCost = key >>> slotBits;
+            return (int) (key & slotMask);
+        }
+        int top = slots[0];
+        poppedCost = keys[0];
+        long lastCost = keys[--size];
+        int lastSlot = slots[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && (keys[right] < keys[child] || (keys[right] == keys[child] && slots[right] < slots[child]))) {
+                child = right;
+            }
+            if (lastCost < keys[child] || (lastCost == keys[child] && lastSlot <= slots[child])) break;
+            keys[i] = keys[child];
+            slots[i] = slots[child];
+            i = child;
+        }
+        keys[i] = lastCost;
+        slots[i] = lastSlot;
+        return top;
+    }
+    public long poppedCost() { return poppedCost; }
+
+    // Unpacks every entry in place; the (cost, slot) order is the packed order, so the heap stays valid.
+    private void widen() {
+        slots = new int[keys.length];
+        for (int i = 0; i < size; i++) {
+            slots[i] = (int) (keys[i] & slotMask);
+            keys[i] >>>= slotBits;
+        }
+    }
+
+    // Smallest field that holds every slot below slotCount.
+    public static int slotBits(int slotCount) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(1, slotCount) - 1));
+    }
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    public void clear() {
+        size = 0;
+        slots = null;
+    }
+    // Empties the heap for push/pop over slots [0, slotCount).
+    public void clear(int slotCount) {
+        clear();
+        slotBits = slotBits(slotCount);
+        slotMask = (1L << slotBits) - 1;
+    }
+}
@@ -0,0 +1,223 @@
+package algorithm;
+
+import core.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Dijkstra whose per-search arrays (distance, predecessor, reached and settled stamps, heap)
+ * live in direct buffers owned by one worker thread, over the shared read-only weights of an
+ * {@link OffHeapGrid}. Once a thread's buffers are large enough a search allocates nothing on
+ * the heap except the returned path, so steady-state throughput does not depend on GC. Other
+ * grids are copied off-heap once and cached. Ties are broken by row-major slot, as in
+ * {@link IndexedDijkstraPathFinder}. Heap keys pack (cost, slot) with the slot field sized from
+ * the grid; a search whose costs outgrow the rest of the key is rerun by
+ * IndexedDijkstraPathFinder, whose heap can hold them unpacked.
+ */
+public class OffHeapDijkstraPathFinder implements PathFinder {
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ThreadLocal<SearchState> searchState = ThreadLocal.withInitial(SearchState::new);
+    private final IndexedDijkstraPathFinder wideCosts = new IndexedDijkstraPathFinder();
+    private volatile Prepared prepared;
+
+    private static final class Prepared {
+        final Grid grid;
+        final OffHeapGrid offHeap;
+        Prepared(Grid grid) {
+            this.grid = grid;
+            this.offHeap = OffHeapGrid.copyOf(grid);
+        }
+    }
+
+    // Buffers are only ever touched by the thread that owns this state.
+    private static final class SearchState {
+        ByteBuffer dist = allocate(0);
+        ByteBuffer prev = allocate(0);
+        ByteBuffer reached = allocate(0); // dist/prev are valid where reached == generation
+        ByteBuffer settled = allocate(0);
+        ByteBuffer heap = allocate(16 * Long.BYTES);
+        int capacity;
+        int heapSize;
+        int generation;
+        int slotBits;
+        boolean overflowed; // a cost did not fit beside the slot, so the search was abandoned
+
+        void begin(int cells) {
+            if (capacity < cells) {
+                dist = allocate((long) cells * Long.BYTES);
+                prev = allocate((long) cells * Integer.BYTES);
+                reached = allocate((long) cells * Integer.BYTES);
+                settled = allocate((long) cells * Integer.BYTES);
+                capacity = cells;
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                for (int i = 0; i < capacity; i++) {
+                    INT.set(reached, i * Integer.BYTES, 0);
+                    INT.set(settled, i * Integer.BYTES, 0);
+                }
+                generation = 1;
+            }
+            heapSize = 0;
+            slotBits = LongMinHeap.slotBits(cells);
+            overflowed = false;
+        }
+        boolean isSettled(int slot) {
+            return (int) INT.get(settled, slot * Integer.BYTES) == generation;
+        }
+        void settle(int slot) {
+            INT.set(settled, slot * Integer.BYTES, generation);
+        }
+        long distance(int slot) {
+            return (int) INT.get(reached, slot * Integer.BYTES) == generation
+                    ? (long) LONG.get(dist, slot * Long.BYTES) : Long.MAX_VALUE;
+        }
+        int predecessor(int slot) {
+            return (int) INT.get(prev, slot * Integer.BYTES);
+        }
+        void relax(int slot, long d, int from) {
+            INT.set(reached, slot * Integer.BYTES, generation);
+            LONG.set(dist, slot * Long.BYTES, d);
+            INT.set(prev, slot * Integer.BYTES, from);
+        }
+
+        void push(long key) {
+            if ((heapSize + 1) * Long.BYTES > heap.capacity()) {
+                ByteBuffer grown = allocate(heap.capacity() * 2L);
+                grown.put(heap.duplicate().clear());
+                heap = grown;
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                long p = (long) LONG.get(heap, parent * Long.BYTES);
+                if (p <= key) break;
+                LONG.set(heap, i * Long.BYTES, p);
+                i = parent;
+            }
+            LONG.set(heap, i * Long.BYTES, key);
+        }
+        long pop() {
+            long top = (long) LONG.get(heap, 0);
+            long last = (long) LONG.get(heap, --heapSize * Long.BYTES);
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                long c = (long) LONG.get(heap, child * Long.BYTES);
+                int right = child + 1;
+                if (right < heapSize) {
+                    long r = (long) LONG.get(heap, right * Long.BYTES);
+                    if (r < c) {
+                        child = right;
+                        c = r;
+                    }
+                }
+                if (last <= c) break;
+                LONG.set(heap, i * Long.BYTES, c);
+                i = child;
+            }
+            LONG.set(heap, i * Long.BYTES, last);
+            return top;
+        }
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Search buffer too large: " + bytes + " bytes");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public Path findPath(PathRequest request) {
+        Grid grid = request.getGrid();
+        OffHeapGrid weights = prepare(grid).offHeap;
+        int cols = grid.getCols();
+        Cell startCell = request.getStartCell();
+        Cell goalCell = request.getGoalCell();
+        int start = startCell.getRow() * cols + startCell.getCol();
+        int goal = goalCell.getRow() * cols + goalCell.getCol();
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        SearchState state = searchState.get();
+        Path.Status stop = search(weights, start, goal, budget, state);
+        if (stop != null) {
+            return Path.limitReached(stop, List.of(), 0, budget.getExpandedNodes());
+        }
+        if (state.overflowed) {
+            return wideCosts.findPath(request);
+        }
+        if (!state.isSettled(goal)) {
+            return Path.notFound();
+        }
+        int steps = 0;
+        for (int cur = goal; cur != start; cur = state.predecessor(cur)) steps++;
+        long[] moves = new long[CompactPath.wordsFor(steps)];
+        int step = steps;
+        for (int cur = goal; cur != start; cur = state.predecessor(cur)) {
+            int from = state.predecessor(cur);
+            CompactPath.setMove(moves, --step, CompactPath.moveBetween(from / cols, from % cols, cur / cols, cur % cols));
+        }
+        return new CompactPath(grid, startCell.getRow(), startCell.getCol(), steps, moves, state.distance(goal),
+                Path.Status.FOUND, budget.getExpandedNodes());
+    }
+
+    private static Path.Status search(OffHeapGrid weights, int start, int goal, SearchBudget budget, SearchState state) {
+        int rows = weights.getRows(), cols = weights.getCols();
+        state.begin(rows * cols);
+        if (weights.weight(start) <= 0) return null;
+        state.relax(start, 0, -1);
+        state.push(start);
+        while (state.heapSize > 0) {
+            long key = state.pop();
+            int u = (int) (key & ((1L << state.slotBits) - 1));
+            long uDist = key >>> state.slotBits;
+            if (state.isSettled(u) || uDist > state.distance(u)) continue;
+            Path.Status stop = budget.onExpand(uDist);
+            if (stop != null) return stop;
+            state.settle(u);
+            if (u == goal) return null;
+            int r = u / cols, c = u % cols;
+            if (r > 0) relaxNeighbor(weights, state, u, uDist, u - cols);
+            if (r + 1 < rows) relaxNeighbor(weights, state, u, uDist, u + cols);
+            if (c > 0) relaxNeighbor(weights, state, u, uDist, u - 1);
+            if (c + 1 < cols) relaxNeighbor(weights, state, u, uDist, u + 1);
+            if (state.overflowed) return null;
+        }
+        return null;
+    }
+
+    private static void relaxNeighbor(OffHeapGrid weights, SearchState state, int u, long uDist, int v) {
+        int w = weights.weight(v);
+        if (w <= 0 || state.isSettled(v)) return;
+        long alt = uDist + w;
+        if (alt < state.distance(v)) {
+            if (alt > Long.MAX_VALUE >>> state.slotBits) {
+                state.overflowed = true;
+                return;
+            }
+            state.relax(v, alt, u);
+            state.push(alt << state.slotBits | v);
+        }
+    }
+
+    private Prepared prepare(Grid grid) {
+        Prepared p = prepared;
+        if (p == null || p.grid != grid) {
+            p = new Prepared(grid);
+            prepared = p;
+        }
+        return p;
+    }
+
+    @Override
+    public String getFinderName() {
+        return "Dijkstra (Off-Heap Buffers)";
+    }
+}
@@ -4,6 +4,8 @@ import core.Path;
 import core.PathRequest;
 
 public interface PathFinder {
+    // A request whose start or goal is blocked has no path: finders answer it with Path.notFound(),
+    // so every finder, cache and batch gives the same answer for it.
     Path findPath(PathRequest request);
     String getFinderName();
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package algorithm;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Space-time reservations shared by cooperatively planning agents. Vertices are keyed by
+ * (cell, timestep), moves by the unordered cell pair and the timestep they start at (which
+ * rules out head-on swaps), and an agent that has arrived parks on its goal from then on.
+ * Per-cell stripe locks make reserve/park checks on the same cell linearizable while agents
+ * touching different cells proceed concurrently.
+ */
+public class ReservationTable {
+    private static final int STRIPES = 256;
+    private static final int MAX_CELLS = 1 << 22;
+    private static final int MAX_TIME = 1 << 20;
+
+    private final ConcurrentHashMap<Long, Integer> vertices = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Integer> edges = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> parked = new ConcurrentHashMap<>(); // cell -> (time << 32 | agent)
+    private final ConcurrentHashMap<Integer, Integer> lastReservedTime = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+
+    public ReservationTable(int cellCount) {
+        if (cellCount > MAX_CELLS) {
+            throw new IllegalArgumentException("Reservation keys support up to " + MAX_CELLS + " cells");
+        }
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Object();
+    }
+
+    private static long vertexKey(int cell, int time) {
+        return ((long) time << 32) | cell;
+    }
+    private static long edgeKey(int from, int to, int time) {
+        return ((long) time << 44) | ((long) Math.min(from, to) << 22) | Math.max(from, to);
+    }
+
+    public boolean isFree(int agent, int cell, int time) {
+        Integer owner = vertices.get(vertexKey(cell, time));
+        if (owner != null && owner != agent) return false;
+        Long park = parked.get(cell);
+        return park == null || (int) (long) park == agent || (int) (park >>> 32) > time;
+    }
+
+    public boolean isMoveFree(int agent, int from, int to, int time) {
+        if (from == to) return true;
+        Integer owner = edges.get(edgeKey(from, to, time));
+        return owner == null || owner == agent;
+    }
+
+    public boolean canPark(int agent, int cell, int time) {
+        Integer last = lastReservedTime.get(cell);
+        if (last == null) return true;
+        for (int t = time + 1; t <= last; t++) {
+            Integer owner = vertices.get(vertexKey(cell, t));
+            if (owner != null && owner != agent) return false;
+        }
+        return true;
+    }
+
+    public void reserveStart(int agent, int cell) {
+        synchronized (stripes[cell % STRIPES]) {
+            vertices.put(vertexKey(cell, 0), agent);
+            lastReservedTime.merge(cell, 0, Math::max);
+        }
+    }
+
+    // Reserves the whole timed route (cells[t] is the position at step t) or nothing at all.
+    public boolean tryReserve(int agent, int[] cells) {
+        if (cells.length >= MAX_TIME) return false;
+        int t = 0;
+        boolean ok = true;
+        for (; t < cells.length && ok; t++) {
+            int cell = cells[t];
+            synchronized (stripes[cell % STRIPES]) {
+                if (!isFree(agent, cell, t)) {
+                    ok = false;
+                } else {
+                    vertices.put(vertexKey(cell, t), agent);
+                    lastReservedTime.merge(cell, t, Math::max);
+                }
+            }
+            if (ok && t > 0 && cells[t - 1] != cell) {
+                Integer owner = edges.putIfAbsent(edgeKey(cells[t - 1], cell, t - 1), agent);
+                if (owner != null && owner != agent) ok = false;
+            }
+        }
+        if (ok) {
+            int goal = cells[cells.length - 1];
+            synchronized (stripes[goal % STRIPES]) {
+                ok = canPark(agent, goal, cells.length - 1);
+                if (ok) parked.put(goal, ((long) (cells.length - 1) << 32) | agent);
+            }
+        }
+        if (!ok) {
+            release(agent, cells, t);
+        }
+        return ok;
+    }
+
+    private void release(int agent, int[] cells, int reservedSteps) {
+        for (int t = 0; t < reservedSteps; t++) {
+            // Step 0 stays reserved: the agent is standing on its start cell either way.
+            if (t > 0) vertices.remove(vertexKey(cells[t], t), agent);
+            if (t > 0 && cells[t - 1] != cells[t]) edges.remove(edgeKey(cells[t - 1], cells[t], t - 1), agent);
+        }
+    }
+
+    public int getReservedVertexCount() { return vertices.size(); }
+}
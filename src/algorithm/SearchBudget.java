@@ -0,0 +1,39 @@
+package algorithm;
+
+import core.Path;
+import core.SearchLimits;
+
+// Cooperative limit checks for a single search. Deadline and interrupt checks only run every
+// CHECK_INTERVAL expansions so the hot loop pays for two compares in the common case.
+public class SearchBudget {
+    private static final int CHECK_INTERVAL = 256;
+    private final SearchLimits limits;
+    private final long maxCost;
+    private final long maxExpandedNodes;
+    private long expandedNodes;
+
+    public SearchBudget(SearchLimits limits) {
+        this.limits = limits;
+        this.maxCost = limits.getMaxCost();
+        this.maxExpandedNodes = limits.getMaxExpandedNodes();
+    }
+
+    // Returns null while the search may continue, otherwise the status that stopped it.
+    public Path.Status onExpand(long cost) {
+        expandedNodes++;
+        if (cost > maxCost) return Path.Status.COST_LIMIT_EXCEEDED;
+        if (expandedNodes > maxExpandedNodes) return Path.Status.NODE_BUDGET_EXCEEDED;
+        if ((expandedNodes & (CHECK_INTERVAL - 1)) == 0) {
+            return checkTimeAndCancellation();
+        }
+        return null;
+    }
+
+    public Path.Status checkTimeAndCancellation() {
+        if (Thread.currentThread().isInterrupted()) return Path.Status.CANCELLED;
+        if (limits.hasDeadline() && limits.remainingNanos() <= 0) return Path.Status.TIMED_OUT;
+        return null;
+    }
+
+    public long getExpandedNodes() { return expandedNodes; }
+}
@@ -0,0 +1,99 @@
+package algorithm;
+
+import core.*;
+
+import java.util.Arrays;
+
+/**
+ * Cheapest route from every cell to one goal, built by a single reverse Dijkstra. cost[slot] is
+ * the cost from slot to the goal and move[slot] the first step of that route, so any request to
+ * the goal is answered by following moves from its start instead of searching.
+ */
+public class ShortestPathTree {
+    public static final long UNREACHABLE = Cell.UNREACHED;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1}; // same order as CompactPath.UP, DOWN, LEFT, RIGHT
+
+    private final Grid grid;
+    private final Cell goal;
+    private final long[] cost; // long like every other search cost, so heavy grids cannot wrap
+    private final byte[] move;
+    private final long buildTimeNanos;
+
+    private ShortestPathTree(Grid grid, Cell goal, long[] cost, byte[] move, long buildTimeNanos) {
+        this.grid = grid;
+        this.goal = goal;
+        this.cost = cost;
+        this.move = move;
+        this.buildTimeNanos = buildTimeNanos;
+    }
+
+    public static ShortestPathTree build(Grid grid, Cell goal) {
+        long start = System.nanoTime();
+        int rows = grid.getRows(), cols = grid.getCols();
+        int[] weights = grid.toWeightArray();
+        long[] cost = new long[weights.length];
+        byte[] move = new byte[weights.length];
+        Arrays.fill(cost, UNREACHABLE);
+        int goalSlot = goal.getRow() * cols + goal.getCol();
+        if (weights[goalSlot] > 0) {
+            LongMinHeap heap = new LongMinHeap(1024);
+            heap.clear(weights.length);
+            cost[goalSlot] = 0;
+            heap.push(0, goalSlot);
+            while (!heap.isEmpty()) {
+                int u = heap.pop();
+                long uCost = heap.poppedCost();
+                if (uCost > cost[u]) continue;
+                int r = u / cols, c = u % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + DR[d], nc = c + DC[d];
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                    int v = nr * cols + nc;
+                    if (weights[v] <= 0) continue;
+                    // Stepping from v into u costs u's weight.
+                    long alt = uCost + weights[u];
+                    if (alt < cost[v]) {
+                        cost[v] = alt;
+                        move[v] = (byte) (d ^ 1); // the opposite direction, from v back to u
+                        heap.push(alt, v);
+                    }
+                }
+            }
+        }
+        return new ShortestPathTree(grid, goal, cost, move, System.nanoTime() - start);
+    }
+
+    public Path pathFrom(Cell start) {
+        int cols = grid.getCols();
+        int from = start.getRow() * cols + start.getCol();
+        if (cost[from] == UNREACHABLE) {
+            return Path.notFound();
+        }
+        // Every step costs at least 1, so only the goal has cost 0.
+        int steps = 0;
+        for (int slot = from; cost[slot] != 0; slot = next(slot, cols)) steps++;
+        long[] moves = new long[CompactPath.wordsFor(steps)];
+        int slot = from;
+        for (int step = 0; step < steps; step++) {
+            CompactPath.setMove(moves, step, move[slot]);
+            slot = next(slot, cols);
+        }
+        return new CompactPath(grid, start.getRow(), start.getCol(), steps, moves, cost[from], Path.Status.FOUND, 0);
+    }
+
+    private int next(int slot, int cols) {
+        return slot + DR[move[slot]] * cols + DC[move[slot]];
+    }
+
+    public long getCost(int row, int col) {
+        return cost[row * grid.getCols() + col];
+    }
+    public static long bytesFor(Grid grid) {
+        return (long) grid.getRows() * grid.getCols() * (Long.BYTES + 1);
+    }
+    public long getSizeBytes() { return (long) cost.length * (Long.BYTES + 1); }
+    public Grid getGrid() { return grid; }
+    public Cell getGoal() { return goal; }
+    public double getBuildTimeMs() { return buildTimeNanos / 1_000_000.0; }
+}
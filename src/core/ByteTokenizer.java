@@ -0,0 +1,115 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+// Whitespace-separated tokens read straight from a mapped file, without decoding it into Strings line by line.
+final class ByteTokenizer {
+    private final ByteBuffer buffer;
+    private final java.nio.file.Path file;
+    private int line = 1;
+
+    private ByteTokenizer(ByteBuffer buffer, java.nio.file.Path file) {
+        this.buffer = buffer;
+        this.file = file;
+    }
+
+    static ByteTokenizer open(java.nio.file.Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to parse in one mapping: " + file);
+            }
+            // The mapping stays valid after the channel is closed.
+            return new ByteTokenizer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    boolean hasMore() {
+        skipWhitespace();
+        return buffer.hasRemaining();
+    }
+
+    String nextToken() throws IOException {
+        skipWhitespace();
+        int start = buffer.position();
+        while (buffer.hasRemaining() && !isWhitespace(buffer.get(buffer.position()))) buffer.position(buffer.position() + 1);
+        if (buffer.position() == start) throw error("unexpected end of file");
+        byte[] bytes = new byte[buffer.position() - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    int nextInt() throws IOException {
+        skipWhitespace();
+        if (!buffer.hasRemaining()) throw error("unexpected end of file");
+        boolean negative = buffer.get(buffer.position()) == '-';
+        if (negative) buffer.get();
+        long value = 0;
+        int digits = 0;
+        while (buffer.hasRemaining()) {
+            int b = buffer.get(buffer.position());
+            if (b < '0' || b > '9') break;
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE) throw error("number out of range");
+            buffer.get();
+            digits++;
+        }
+        if (digits == 0 || (buffer.hasRemaining() && !isWhitespace(buffer.get(buffer.position())))) {
+            throw error("expected an integer");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    double nextDouble() throws IOException {
+        String token = nextToken();
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw error("expected a number, got '" + token + "'");
+        }
+    }
+
+    void expect(String keyword) throws IOException {
+        String token = nextToken();
+        if (!token.equals(keyword)) throw error("expected '" + keyword + "', got '" + token + "'");
+    }
+
+    // Copies the next row of exactly width bytes, skipping the line break in front of it.
+    void nextRow(byte[] row) throws IOException {
+        skipLineBreaks();
+        if (buffer.remaining() < row.length) throw error("map row shorter than " + row.length + " cells");
+        buffer.get(row);
+        if (buffer.hasRemaining() && !isLineBreak(buffer.get(buffer.position()))) {
+            throw error("map row longer than " + row.length + " cells");
+        }
+    }
+
+    void skipLine() {
+        while (buffer.hasRemaining() && buffer.get() != '\n') { }
+        line++;
+    }
+
+    IOException error(String message) {
+        return new IOException(file + ":" + line + ": " + message);
+    }
+
+    private void skipWhitespace() {
+        while (buffer.hasRemaining() && isWhitespace(buffer.get(buffer.position()))) {
+            if (buffer.get() == '\n') line++;
+        }
+    }
+    private void skipLineBreaks() {
+        while (buffer.hasRemaining() && isLineBreak(buffer.get(buffer.position()))) {
+            if (buffer.get() == '\n') line++;
+        }
+    }
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || isLineBreak(b);
+    }
+    private static boolean isLineBreak(int b) {
+        return b == '\n' || b == '\r';
+    }
+}
@@ -6,27 +6,29 @@ public class Cell implements Comparable<Cell> {
     private final int row;
     private final int col;
     private final int weight;
-    private double pathCost = Double.MAX_VALUE;
+    // Far enough below Long.MAX_VALUE that adding any cell weight cannot overflow.
+    public static final long UNREACHED = Long.MAX_VALUE / 2;
+    private long pathCost = UNREACHED;
     private Cell predecessor = null;
     public Cell(int row, int col, int weight) {
         this.row = row;
         this.col = col;
-        this.weight = Math.max(1, weight); // Ensure weight is at least 1
+        this.weight = Math.max(0, weight); // 0 marks an obstacle, walkable cells cost at least 1
     }
     public int getRow() { return row; }
     public int getCol() { return col; }
     public int getWeight() { return weight; }
-    public double getPathCost() { return pathCost; }
+    public long getPathCost() { return pathCost; }
     public Cell getPredecessor() { return predecessor; }
-    public void setPathCost(double pathCost) { this.pathCost = pathCost; }
+    public void setPathCost(long pathCost) { this.pathCost = pathCost; }
     public void setPredecessor(Cell predecessor) { this.predecessor = predecessor; }
     public void reset() {
-        this.pathCost = Double.MAX_VALUE;
+        this.pathCost = UNREACHED;
         this.predecessor = null;
     }
     @Override
     public int compareTo(Cell other) {
-        return Double.compare(this.pathCost, other.pathCost);
+        return Long.compare(this.pathCost, other.pathCost);
     }
     @Override
     public boolean equals(Object o) {
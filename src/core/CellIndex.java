@@ -0,0 +1,102 @@
+package core;
+
+/**
+ * Maps (row, col) to a slot in a flat primitive array for a given {@link CellLayout}. Blocked and
+ * Morton layouts keep vertical neighbours close in memory at the cost of some padding slots,
+ * which never correspond to a cell and should be treated as obstacles.
+ */
+public final class CellIndex {
+    public static final int BLOCK_SHIFT = 3;
+    private static final int BLOCK = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK - 1;
+    public static final int MAX_MORTON_SIDE = 1 << 15;
+
+    private final CellLayout layout;
+    private final int rows;
+    private final int cols;
+    private final int blockCols;
+    private final int capacity;
+
+    public CellIndex(CellLayout layout, int rows, int cols) {
+        this.layout = layout;
+        this.rows = rows;
+        this.cols = cols;
+        this.blockCols = (cols + BLOCK_MASK) >> BLOCK_SHIFT;
+        long slots;
+        switch (layout) {
+            case BLOCKED:
+                slots = (long) ((rows + BLOCK_MASK) >> BLOCK_SHIFT) * blockCols << (2 * BLOCK_SHIFT);
+                break;
+            case MORTON:
+                int longest = Math.max(rows, cols);
+                int side = longest <= 1 ? 1 : Integer.highestOneBit(longest - 1) << 1;
+                if (side > MAX_MORTON_SIDE) {
+                    throw new IllegalArgumentException("Morton layout supports up to " + MAX_MORTON_SIDE + " cells per side");
+                }
+                slots = (long) side * side;
+                break;
+            default:
+                slots = (long) rows * cols;
+        }
+        if (slots > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(layout + " layout needs " + slots + " slots for " + rows + "x" + cols);
+        }
+        this.capacity = (int) slots;
+    }
+
+    public int index(int row, int col) {
+        switch (layout) {
+            case BLOCKED:
+                return (((row >> BLOCK_SHIFT) * blockCols + (col >> BLOCK_SHIFT)) << (2 * BLOCK_SHIFT))
+                        | ((row & BLOCK_MASK) << BLOCK_SHIFT) | (col & BLOCK_MASK);
+            case MORTON:
+                return spread(col) | (spread(row) << 1);
+            default:
+                return row * cols + col;
+        }
+    }
+    public int row(int index) {
+        switch (layout) {
+            case BLOCKED:
+                return ((index >> (2 * BLOCK_SHIFT)) / blockCols << BLOCK_SHIFT) | ((index >> BLOCK_SHIFT) & BLOCK_MASK);
+            case MORTON:
+                return compact(index >>> 1);
+            default:
+                return index / cols;
+        }
+    }
+    public int col(int index) {
+        switch (layout) {
+            case BLOCKED:
+                return ((index >> (2 * BLOCK_SHIFT)) % blockCols << BLOCK_SHIFT) | (index & BLOCK_MASK);
+            case MORTON:
+                return compact(index);
+            default:
+                return index % cols;
+        }
+    }
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    // Moves the low 16 bits of x to the even bit positions.
+    private static int spread(int x) {
+        x &= 0xFFFF;
+        x = (x | (x << 8)) & 0x00FF00FF;
+        x = (x | (x << 4)) & 0x0F0F0F0F;
+        x = (x | (x << 2)) & 0x33333333;
+        return (x | (x << 1)) & 0x55555555;
+    }
+    private static int compact(int x) {
+        x &= 0x55555555;
+        x = (x | (x >>> 1)) & 0x33333333;
+        x = (x | (x >>> 2)) & 0x0F0F0F0F;
+        x = (x | (x >>> 4)) & 0x00FF00FF;
+        return (x | (x >>> 8)) & 0xFFFF;
+    }
+
+    public CellLayout getLayout() { return layout; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getCapacity() { return capacity; }
+}
@@ -0,0 +1,7 @@
+package core;
+
+public enum CellLayout {
+    ROW_MAJOR,
+    BLOCKED,   // 8x8 tiles, each stored contiguously
+    MORTON     // Z-order over the next power-of-two square
+}
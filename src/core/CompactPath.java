@@ -0,0 +1,137 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Path stored as its start cell plus one 2-bit move per step, packed 32 moves per long.
+ * Cells are resolved against the grid only when iterated or when {@link #getCells()} is called.
+ */
+public class CompactPath extends Path {
+    public static final int UP = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int RIGHT = 3;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final Grid grid;
+    private final int startRow;
+    private final int startCol;
+    private final int steps;
+    private final long[] moves;
+
+    public CompactPath(Grid grid, int startRow, int startCol, int steps, long[] moves,
+                       long cost, Status status, long expandedNodes) {
+        super(cost, status, expandedNodes);
+        if (moves.length < wordsFor(steps)) {
+            throw new IllegalArgumentException("Move array too short for " + steps + " steps");
+        }
+        this.grid = grid;
+        this.startRow = startRow;
+        this.startCol = startCol;
+        this.steps = steps;
+        this.moves = moves;
+    }
+
+    public static CompactPath fromCells(Grid grid, List<Cell> cells, long cost, Status status, long expandedNodes) {
+        if (cells.isEmpty()) {
+            throw new IllegalArgumentException("A compact path needs at least its start cell");
+        }
+        long[] moves = new long[wordsFor(cells.size() - 1)];
+        Cell previous = cells.get(0);
+        for (int i = 1; i < cells.size(); i++) {
+            Cell cell = cells.get(i);
+            setMove(moves, i - 1, moveBetween(previous.getRow(), previous.getCol(), cell.getRow(), cell.getCol()));
+            previous = cell;
+        }
+        return new CompactPath(grid, cells.get(0).getRow(), cells.get(0).getCol(), cells.size() - 1, moves,
+                cost, status, expandedNodes);
+    }
+
+    // Walks a predecessor map back from goal to start twice: once to count steps, once to pack moves.
+    public static CompactPath fromPredecessors(Grid grid, Map<Cell, Cell> prev, Cell start, Cell goal,
+                                               long cost, long expandedNodes) {
+        int steps = 0;
+        for (Cell cur = goal; !cur.equals(start); cur = prev.get(cur)) {
+            steps++;
+        }
+        long[] moves = new long[wordsFor(steps)];
+        int step = steps;
+        for (Cell cur = goal; !cur.equals(start); ) {
+            Cell previous = prev.get(cur);
+            setMove(moves, --step, moveBetween(previous.getRow(), previous.getCol(), cur.getRow(), cur.getCol()));
+            cur = previous;
+        }
+        return new CompactPath(grid, start.getRow(), start.getCol(), steps, moves, cost, Status.FOUND, expandedNodes);
+    }
+
+    public static int wordsFor(int steps) {
+        return (steps + 31) >>> 5;
+    }
+    public static void setMove(long[] moves, int step, int move) {
+        moves[step >>> 5] |= (long) move << ((step & 31) << 1);
+    }
+    public static int moveBetween(int fromRow, int fromCol, int toRow, int toCol) {
+        int dr = toRow - fromRow, dc = toCol - fromCol;
+        if (dr == -1 && dc == 0) return UP;
+        if (dr == 1 && dc == 0) return DOWN;
+        if (dr == 0 && dc == -1) return LEFT;
+        if (dr == 0 && dc == 1) return RIGHT;
+        throw new IllegalArgumentException(String.format("Cells (%d, %d) and (%d, %d) are not adjacent",
+                fromRow, fromCol, toRow, toCol));
+    }
+
+    public int getMove(int step) {
+        return (int) (moves[step >>> 5] >>> ((step & 31) << 1)) & 3;
+    }
+    public Grid getGrid() { return grid; }
+    public int getStartRow() { return startRow; }
+    public int getStartCol() { return startCol; }
+    public int getStepCount() { return steps; }
+    long[] moveWords() { return moves; }
+    public long getEncodedSizeBytes() {
+        return (long) wordsFor(steps) * Long.BYTES;
+    }
+
+    @Override
+    public int length() {
+        return steps + 1;
+    }
+
+    // Not cached: holding the materialized list would defeat the compact representation.
+    @Override
+    public List<Cell> getCells() {
+        List<Cell> cells = new ArrayList<>(steps + 1);
+        for (Cell cell : this) cells.add(cell);
+        return Collections.unmodifiableList(cells);
+    }
+
+    @Override
+    public Iterator<Cell> iterator() {
+        return new Iterator<>() {
+            private int step = -1;
+            private int row = startRow;
+            private int col = startCol;
+            @Override
+            public boolean hasNext() {
+                return step < steps;
+            }
+            @Override
+            public Cell next() {
+                if (step >= steps) throw new NoSuchElementException();
+                if (step >= 0) {
+                    int move = getMove(step);
+                    row += DR[move];
+                    col += DC[move];
+                }
+                step++;
+                return grid.getCell(row, col);
+            }
+        };
+    }
+}
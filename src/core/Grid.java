@@ -1,63 +1,98 @@
 package core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Grid {
     private final int rows;
     private final int cols;
-    private final Cell[][] cells;
+    // Row-major with a one-cell ring of BORDER around the map, so the four neighbours of any cell are
+    // at fixed offsets -stride, -1, +1, +stride and never out of bounds; null in subclasses that
+    // materialize cells per lookup.
+    private final Cell[] cells;
+    private final int stride;
     private final double obstacleDensity; // 0.0 to 1.0
+    private static final Cell BORDER = new Cell(-1, -1, 0);
+    private volatile CellIndex cellIndex;
     private static final int[][] DIRECTIONS = {
             {-1, 0}, {1, 0}, {0, -1}, {0, 1}
     };
+    private static final int[][] ROW_MAJOR_DIRECTIONS = {
+            {-1, 0}, {0, -1}, {0, 1}, {1, 0}
+    };
     public Grid(int rows, int cols, int maxWeight, double obstacleDensity) {
+        this(rows, cols, maxWeight, obstacleDensity, new SplittableRandom().nextLong());
+    }
+    public Grid(int rows, int cols, int maxWeight, double obstacleDensity, long seed) {
+        this(rows, cols, new GridGenerator(seed).generateWeights(
+                GridGenerator.MapType.RANDOM, rows, cols, maxWeight, obstacleDensity), obstacleDensity);
+    }
+    public Grid(int rows, int cols, int[] weights) {
+        this(rows, cols, weights, blockedFraction(weights));
+    }
+    private Grid(int rows, int cols, int[] weights, double obstacleDensity) {
+        if (weights.length != rows * cols) {
+            throw new IllegalArgumentException("Expected " + rows * cols + " weights, got " + weights.length);
+        }
         this.rows = rows;
         this.cols = cols;
         this.obstacleDensity = obstacleDensity;
-        this.cells = new Cell[rows][cols];
-        initializeRandomGrid(maxWeight);
+        this.stride = cols + 2;
+        this.cells = borderedArray(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                cells[(r + 1) * stride + c + 1] = new Cell(r, c, weights[r * cols + c]);
+            }
+        }
+    }
+    protected Grid(int rows, int cols, double obstacleDensity) {
+        this.rows = rows;
+        this.cols = cols;
+        this.obstacleDensity = obstacleDensity;
+        this.stride = cols + 2;
+        this.cells = null;
     }
     public Grid(Grid original) {
         this.rows = original.rows;
         this.cols = original.cols;
         this.obstacleDensity = original.obstacleDensity;
-        this.cells = new Cell[rows][cols];
+        this.cellIndex = original.cellIndex;
+        this.stride = cols + 2;
+        this.cells = borderedArray(rows, cols);
 
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
                 Cell originalCell = original.getCell(r, c);
-                this.cells[r][c] = new Cell(originalCell.getRow(), originalCell.getCol(), originalCell.getWeight());
+                this.cells[(r + 1) * stride + c + 1] = new Cell(originalCell.getRow(), originalCell.getCol(), originalCell.getWeight());
             }
         }
     }
 
-    private void initializeRandomGrid(int maxWeight) {
-        Random rand = new Random();
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                int weight;
-                if (rand.nextDouble() < obstacleDensity) {
-                    weight = 0; // Obstacle/Blocked Cell
-                } else {
-                    // Weighted cell, 1 being the minimum cost
-                    weight = rand.nextInt(maxWeight) + 1;
-                }
-                cells[r][c] = new Cell(r, c, weight);
-            }
+    private static Cell[] borderedArray(int rows, int cols) {
+        Cell[] cells = new Cell[(rows + 2) * (cols + 2)];
+        Arrays.fill(cells, BORDER);
+        return cells;
+    }
+
+    private static double blockedFraction(int[] weights) {
+        int blocked = 0;
+        for (int weight : weights) {
+            if (weight <= 0) blocked++;
         }
+        return weights.length == 0 ? 0.0 : (double) blocked / weights.length;
     }
     public void resetAllCells() {
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                cells[r][c].reset();
+                cells[(r + 1) * stride + c + 1].reset();
             }
         }
     }
     public Cell getCell(int row, int col) {
         if (row >= 0 && row < rows && col >= 0 && col < cols) {
-            return cells[row][col];
+            return cells[(row + 1) * stride + col + 1];
         }
         return null;
     }
@@ -77,6 +112,66 @@ public class Grid {
         }
         return neighbors;
     }
+    // Walkable neighbours in row-major order (up, left, right, down), without allocating.
+    public void forEachNeighbor(Cell cell, NeighborVisitor visitor) {
+        if (cells == null) {
+            for (int[] direction : ROW_MAJOR_DIRECTIONS) {
+                Cell neighbor = getCell(cell.getRow() + direction[0], cell.getCol() + direction[1]);
+                if (isWalkable(neighbor)) visitor.visit(neighbor);
+            }
+            return;
+        }
+        int i = (cell.getRow() + 1) * stride + cell.getCol() + 1;
+        Cell neighbor;
+        if ((neighbor = cells[i - stride]).getWeight() > 0) visitor.visit(neighbor);
+        if ((neighbor = cells[i - 1]).getWeight() > 0) visitor.visit(neighbor);
+        if ((neighbor = cells[i + 1]).getWeight() > 0) visitor.visit(neighbor);
+        if ((neighbor = cells[i + stride]).getWeight() > 0) visitor.visit(neighbor);
+    }
+    // Same neighbours and order as forEachNeighbor, written into out (length at least 4); returns how many.
+    public int neighbors(Cell cell, Cell[] out) {
+        int count = 0;
+        if (cells == null) {
+            for (int[] direction : ROW_MAJOR_DIRECTIONS) {
+                Cell neighbor = getCell(cell.getRow() + direction[0], cell.getCol() + direction[1]);
+                if (isWalkable(neighbor)) out[count++] = neighbor;
+            }
+            return count;
+        }
+        int i = (cell.getRow() + 1) * stride + cell.getCol() + 1;
+        Cell neighbor;
+        if ((neighbor = cells[i - stride]).getWeight() > 0) out[count++] = neighbor;
+        if ((neighbor = cells[i - 1]).getWeight() > 0) out[count++] = neighbor;
+        if ((neighbor = cells[i + 1]).getWeight() > 0) out[count++] = neighbor;
+        if ((neighbor = cells[i + stride]).getWeight() > 0) out[count++] = neighbor;
+        return count;
+    }
+    public int[] toWeightArray() {
+        return toWeightArray(new CellIndex(CellLayout.ROW_MAJOR, rows, cols));
+    }
+    // Padding slots of blocked/Morton layouts stay 0, i.e. blocked.
+    public int[] toWeightArray(CellIndex index) {
+        int[] weights = new int[index.getCapacity()];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Cell cell = getCell(r, c);
+                weights[index.index(r, c)] = isWalkable(cell) ? cell.getWeight() : 0;
+            }
+        }
+        return weights;
+    }
+    // Layout used by searches that keep per-cell state in primitive arrays; row-major unless set.
+    public CellIndex getCellIndex() {
+        CellIndex index = cellIndex;
+        if (index == null) {
+            index = new CellIndex(CellLayout.ROW_MAJOR, rows, cols);
+            cellIndex = index;
+        }
+        return index;
+    }
+    public void setCellLayout(CellLayout layout) {
+        cellIndex = new CellIndex(layout, rows, cols);
+    }
     public int getRows() { return rows; }
     public int getCols() { return cols; }
     @Override
@@ -85,7 +180,7 @@ public class Grid {
         sb.append(String.format("Grid (%dx%d, Density: %.2f)\n", rows, cols, obstacleDensity));
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                int w = cells[r][c].getWeight();
+                int w = getCell(r, c).getWeight();
                 // O for Obstacle, W for Weight
                 sb.append(w == 0 ? " O " : String.format("%2d ", w));
             }
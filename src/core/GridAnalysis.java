@@ -0,0 +1,191 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Facts about a grid's weights that finders would otherwise rescan for: walkable weight range,
+ * mean and variance, obstacle count, a weight histogram, which TILE_SIZE x TILE_SIZE tiles hold a
+ * single weight, and one walkable bitmap per row. Computed with fork/join over tile-aligned row
+ * bands and cached per grid instance and {@link GridSnapshot} version by {@link #of(Grid)}.
+ */
+public final class GridAnalysis {
+    public static final int TILE_SIZE = 16;
+    public static final int HISTOGRAM_SIZE = 256; // weights from HISTOGRAM_SIZE - 1 up share the last bucket
+    public static final int MIXED = -1;
+    private static final int BAND_ROWS = 4 * TILE_SIZE;
+    private static final Map<Grid, GridAnalysis> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int rows;
+    private final int cols;
+    private final long version;
+    private final int minWeight;
+    private final int maxWeight;
+    private final long obstacles;
+    private final double meanWeight;
+    private final double weightVariance;
+    private final long[] histogram;
+    private final int tileCols;
+    private final int[] tileWeights;   // the single weight of a tile, or MIXED
+    private final long[][] rowBitmaps; // bit c of row r set when (r, c) is walkable
+    private final long computeTimeNanos;
+
+    private GridAnalysis(int rows, int cols, long version, Band totals, int tileCols, int[] tileWeights,
+                         long[][] rowBitmaps, long computeTimeNanos) {
+        this.rows = rows;
+        this.cols = cols;
+        this.version = version;
+        long walkable = (long) rows * cols - totals.obstacles;
+        this.minWeight = walkable == 0 ? 0 : totals.min;
+        this.maxWeight = totals.max;
+        this.obstacles = totals.obstacles;
+        this.meanWeight = walkable == 0 ? 0 : (double) totals.sum / walkable;
+        this.weightVariance = walkable == 0 ? 0 : (double) totals.sumSquares / walkable - meanWeight * meanWeight;
+        this.histogram = totals.histogram;
+        this.tileCols = tileCols;
+        this.tileWeights = tileWeights;
+        this.rowBitmaps = rowBitmaps;
+        this.computeTimeNanos = computeTimeNanos;
+    }
+
+    // The cached analysis of grid, computed on first use and again whenever the grid's version moves on.
+    public static GridAnalysis of(Grid grid) {
+        GridAnalysis analysis = CACHE.get(grid);
+        if (analysis == null || analysis.version != versionOf(grid)) {
+            analysis = compute(grid, ForkJoinPool.commonPool());
+            CACHE.put(grid, analysis);
+        }
+        return analysis;
+    }
+
+    public static GridAnalysis compute(Grid grid, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        int rows = grid.getRows(), cols = grid.getCols();
+        int tileCols = (cols + TILE_SIZE - 1) / TILE_SIZE;
+        int[] tileWeights = new int[((rows + TILE_SIZE - 1) / TILE_SIZE) * tileCols];
+        long[][] rowBitmaps = new long[rows][(cols + 63) >>> 6];
+        Band totals = pool.invoke(new BandTask(grid, 0, rows, tileCols, tileWeights, rowBitmaps));
+        return new GridAnalysis(rows, cols, versionOf(grid), totals, tileCols, tileWeights, rowBitmaps,
+                System.nanoTime() - start);
+    }
+
+    private static long versionOf(Grid grid) {
+        return grid instanceof GridSnapshot ? ((GridSnapshot) grid).getVersion() : 0;
+    }
+
+    // Totals of one band of rows; tiles and bitmaps are written straight into the shared arrays.
+    private static final class Band {
+        int min = Integer.MAX_VALUE;
+        int max;
+        long obstacles;
+        long sum;
+        long sumSquares;
+        final long[] histogram = new long[HISTOGRAM_SIZE];
+
+        Band merge(Band other) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            obstacles += other.obstacles;
+            sum += other.sum;
+            sumSquares += other.sumSquares;
+            for (int w = 0; w < HISTOGRAM_SIZE; w++) histogram[w] += other.histogram[w];
+            return this;
+        }
+    }
+
+    // Splits on tile boundaries, so no tile is shared by two bands.
+    private static final class BandTask extends RecursiveTask<Band> {
+        private static final long serialVersionUID = 1L;
+        final Grid grid;
+        final int fromRow, toRow, tileCols;
+        final int[] tileWeights;
+        final long[][] rowBitmaps;
+
+        BandTask(Grid grid, int fromRow, int toRow, int tileCols, int[] tileWeights, long[][] rowBitmaps) {
+            this.grid = grid;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.tileCols = tileCols;
+            this.tileWeights = tileWeights;
+            this.rowBitmaps = rowBitmaps;
+        }
+
+        @Override
+        protected Band compute() {
+            if (toRow - fromRow > BAND_ROWS) {
+                int mid = fromRow + ((toRow - fromRow) / 2 / TILE_SIZE) * TILE_SIZE;
+                BandTask top = new BandTask(grid, fromRow, mid, tileCols, tileWeights, rowBitmaps);
+                top.fork();
+                Band bottom = new BandTask(grid, mid, toRow, tileCols, tileWeights, rowBitmaps).compute();
+                return top.join().merge(bottom);
+            }
+            Band band = new Band();
+            int cols = grid.getCols();
+            for (int r = fromRow; r < toRow; r++) {
+                long[] bitmap = rowBitmaps[r];
+                for (int c = 0; c < cols; c++) {
+                    Cell cell = grid.getCell(r, c);
+                    int w = grid.isWalkable(cell) ? cell.getWeight() : 0;
+                    int t = (r / TILE_SIZE) * tileCols + c / TILE_SIZE;
+                    if (r % TILE_SIZE == 0 && c % TILE_SIZE == 0) tileWeights[t] = w;
+                    else if (tileWeights[t] != w) tileWeights[t] = MIXED;
+                    band.histogram[Math.min(w, HISTOGRAM_SIZE - 1)]++;
+                    if (w == 0) {
+                        band.obstacles++;
+                        continue;
+                    }
+                    bitmap[c >>> 6] |= 1L << c;
+                    band.min = Math.min(band.min, w);
+                    band.max = Math.max(band.max, w);
+                    band.sum += w;
+                    band.sumSquares += (long) w * w;
+                }
+            }
+            return band;
+        }
+    }
+
+    public boolean isWalkable(int row, int col) {
+        return (rowBitmaps[row][col >>> 6] & (1L << col)) != 0;
+    }
+    // Shared, not copied: callers must not modify it.
+    public long[] getRowBitmap(int row) {
+        return rowBitmaps[row];
+    }
+    public int getTileWeight(int tileRow, int tileCol) {
+        return tileWeights[tileRow * tileCols + tileCol];
+    }
+    public boolean isTileUniform(int tileRow, int tileCol) {
+        return getTileWeight(tileRow, tileCol) != MIXED;
+    }
+    public long getWeightCount(int weight) {
+        return histogram[Math.min(Math.max(0, weight), HISTOGRAM_SIZE - 1)];
+    }
+    public long[] getHistogram() {
+        return Arrays.copyOf(histogram, histogram.length);
+    }
+
+    // Smallest walkable weight, or 0 when nothing is walkable; the admissible per-step heuristic factor.
+    public int getMinWalkableWeight() { return minWeight; }
+    public int getMaxWalkableWeight() { return maxWeight; }
+    public boolean isUnitWeight() { return maxWeight <= 1; }
+    public long getObstacleCount() { return obstacles; }
+    public long getWalkableCount() { return (long) rows * cols - obstacles; }
+    public double getObstacleDensity() { return rows * cols == 0 ? 0.0 : (double) obstacles / ((long) rows * cols); }
+    public double getMeanWeight() { return meanWeight; }
+    public double getWeightVariance() { return weightVariance; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public long getVersion() { return version; }
+    public double getComputeTimeMs() { return computeTimeNanos / 1_000_000.0; }
+
+    @Override
+    public String toString() {
+        return String.format("GridAnalysis v%d (%dx%d, weights %d..%d, mean %.2f, variance %.2f, %d obstacles)",
+                version, rows, cols, minWeight, maxWeight, meanWeight, weightVariance, obstacles);
+    }
+}
@@ -0,0 +1,88 @@
+package core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Text map formats. Moving AI .map files (https://movingai.com/benchmarks/formats.html) give
+ * passable terrain ('.', 'G', 'S') weight 1 and everything else ('@', 'O', 'T', 'W') weight 0.
+ * The weighted text format is a "rows cols" line followed by rows lines of cols integer weights,
+ * with 0 for obstacles. Both are parsed byte by byte from a mapped file.
+ */
+public final class GridFormats {
+    private GridFormats() {
+    }
+
+    // Chooses the format by extension: .map is Moving AI, anything else weighted text.
+    public static Grid read(java.nio.file.Path file) throws IOException {
+        return file.getFileName().toString().endsWith(".map") ? readMovingAiMap(file) : readWeightedText(file);
+    }
+
+    public static Grid readMovingAiMap(java.nio.file.Path file) throws IOException {
+        ByteTokenizer in = ByteTokenizer.open(file);
+        in.expect("type");
+        in.nextToken(); // "octile"; 4-connected searches read the same terrain
+        in.expect("height");
+        int rows = in.nextInt();
+        in.expect("width");
+        int cols = in.nextInt();
+        in.expect("map");
+        if (rows <= 0 || cols <= 0) throw in.error("bad map size " + rows + "x" + cols);
+        int[] weights = new int[rows * cols];
+        byte[] row = new byte[cols];
+        for (int r = 0; r < rows; r++) {
+            in.nextRow(row);
+            for (int c = 0; c < cols; c++) weights[r * cols + c] = isPassable(row[c]) ? 1 : 0;
+        }
+        return new Grid(rows, cols, weights);
+    }
+
+    public static void writeMovingAiMap(Grid grid, java.nio.file.Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            out.write("type octile\nheight " + grid.getRows() + "\nwidth " + grid.getCols() + "\nmap\n");
+            char[] row = new char[grid.getCols()];
+            for (int r = 0; r < grid.getRows(); r++) {
+                for (int c = 0; c < grid.getCols(); c++) row[c] = grid.isWalkable(grid.getCell(r, c)) ? '.' : '@';
+                out.write(row);
+                out.write('\n');
+            }
+        }
+    }
+
+    public static Grid readWeightedText(java.nio.file.Path file) throws IOException {
+        ByteTokenizer in = ByteTokenizer.open(file);
+        int rows = in.nextInt();
+        int cols = in.nextInt();
+        if (rows <= 0 || cols <= 0) throw in.error("bad grid size " + rows + "x" + cols);
+        int[] weights = new int[rows * cols];
+        for (int i = 0; i < weights.length; i++) {
+            int weight = in.nextInt();
+            if (weight < 0) throw in.error("negative weight " + weight);
+            weights[i] = weight;
+        }
+        if (in.hasMore()) throw in.error("more than " + weights.length + " weights");
+        return new Grid(rows, cols, weights);
+    }
+
+    public static void writeWeightedText(Grid grid, java.nio.file.Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            out.write(grid.getRows() + " " + grid.getCols() + "\n");
+            StringBuilder line = new StringBuilder();
+            for (int r = 0; r < grid.getRows(); r++) {
+                line.setLength(0);
+                for (int c = 0; c < grid.getCols(); c++) {
+                    Cell cell = grid.getCell(r, c);
+                    if (c > 0) line.append(' ');
+                    line.append(grid.isWalkable(cell) ? cell.getWeight() : 0);
+                }
+                out.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    private static boolean isPassable(byte terrain) {
+        return terrain == '.' || terrain == 'G' || terrain == 'S';
+    }
+}
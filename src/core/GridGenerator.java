@@ -0,0 +1,219 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * Seeded grid generator. Random draws come from one {@link SplittableRandom} per fixed block of
+ * rows, split from the seed in block order, so a seed always produces the same grid no matter
+ * how many threads fill the blocks.
+ */
+public class GridGenerator {
+    public enum MapType {
+        RANDOM,     // independent cells, obstacles with the given density
+        MAZE,       // perfect maze with one-cell corridors; density is ignored
+        ROOMS,      // rectangular rooms joined by corridors; density is ignored
+        CAVES,      // cellular-automaton caves, density is the initial wall fill
+        GRADIENT    // weights rising from top-left to bottom-right, obstacles with the given density
+    }
+
+    private static final int BLOCK_ROWS = 32;
+    private static final int CAVE_ITERATIONS = 4;
+
+    private final long seed;
+    private final int parallelism;
+
+    public GridGenerator(long seed) {
+        this(seed, Runtime.getRuntime().availableProcessors());
+    }
+    public GridGenerator(long seed, int parallelism) {
+        this.seed = seed;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public Grid generate(MapType type, int rows, int cols, int maxWeight, double obstacleDensity) {
+        return new Grid(rows, cols, generateWeights(type, rows, cols, maxWeight, obstacleDensity));
+    }
+
+    public int[] generateWeights(MapType type, int rows, int cols, int maxWeight, double obstacleDensity) {
+        SplittableRandom root = new SplittableRandom(seed);
+        int[] weights = new int[rows * cols];
+        switch (type) {
+            case RANDOM:
+                forEachBlock(rows, root, (rowStart, rowEnd, rand) -> {
+                    for (int i = rowStart * cols; i < rowEnd * cols; i++) {
+                        weights[i] = rand.nextDouble() < obstacleDensity ? 0 : rand.nextInt(maxWeight) + 1;
+                    }
+                });
+                break;
+            case GRADIENT:
+                int span = Math.max(1, rows + cols - 2);
+                forEachBlock(rows, root, (rowStart, rowEnd, rand) -> {
+                    for (int r = rowStart; r < rowEnd; r++) {
+                        for (int c = 0; c < cols; c++) {
+                            int base = 1 + (int) Math.round((maxWeight - 1) * (double) (r + c) / span);
+                            int weight = Math.max(1, Math.min(maxWeight, base + rand.nextInt(3) - 1));
+                            weights[r * cols + c] = rand.nextDouble() < obstacleDensity ? 0 : weight;
+                        }
+                    }
+                });
+                break;
+            case CAVES:
+                boolean[] open = new boolean[rows * cols];
+                forEachBlock(rows, root, (rowStart, rowEnd, rand) -> {
+                    for (int i = rowStart * cols; i < rowEnd * cols; i++) {
+                        open[i] = rand.nextDouble() >= obstacleDensity;
+                    }
+                });
+                smoothCaves(open, rows, cols);
+                assignWeights(open, weights, rows, cols, maxWeight, root);
+                break;
+            case MAZE:
+                assignWeights(carveMaze(rows, cols, root.split()), weights, rows, cols, maxWeight, root);
+                break;
+            case ROOMS:
+                assignWeights(carveRooms(rows, cols, root.split()), weights, rows, cols, maxWeight, root);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown map type: " + type);
+        }
+        return weights;
+    }
+
+    private interface BlockTask {
+        void fill(int rowStart, int rowEnd, SplittableRandom rand);
+    }
+
+    private void forEachBlock(int rows, SplittableRandom root, BlockTask task) {
+        int blockCount = (rows + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        SplittableRandom[] blockRandoms = new SplittableRandom[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            blockRandoms[b] = root == null ? null : root.split();
+        }
+        if (parallelism == 1 || blockCount == 1) {
+            for (int b = 0; b < blockCount; b++) {
+                task.fill(b * BLOCK_ROWS, Math.min(rows, (b + 1) * BLOCK_ROWS), blockRandoms[b]);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, blockCount));
+        try {
+            List<Future<?>> futures = new ArrayList<>(blockCount);
+            for (int b = 0; b < blockCount; b++) {
+                final int block = b;
+                futures.add(executor.submit(() ->
+                        task.fill(block * BLOCK_ROWS, Math.min(rows, (block + 1) * BLOCK_ROWS), blockRandoms[block])));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Grid generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Grid generation failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void assignWeights(boolean[] open, int[] weights, int rows, int cols, int maxWeight, SplittableRandom root) {
+        forEachBlock(rows, root, (rowStart, rowEnd, rand) -> {
+            for (int i = rowStart * cols; i < rowEnd * cols; i++) {
+                weights[i] = open[i] ? rand.nextInt(maxWeight) + 1 : 0;
+            }
+        });
+    }
+
+    private void smoothCaves(boolean[] open, int rows, int cols) {
+        boolean[] next = new boolean[open.length];
+        for (int iteration = 0; iteration < CAVE_ITERATIONS; iteration++) {
+            final boolean[] source = iteration % 2 == 0 ? open : next;
+            final boolean[] target = iteration % 2 == 0 ? next : open;
+            forEachBlock(rows, null, (rowStart, rowEnd, unused) -> {
+                for (int r = rowStart; r < rowEnd; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        int walls = 0;
+                        for (int dr = -1; dr <= 1; dr++) {
+                            for (int dc = -1; dc <= 1; dc++) {
+                                int nr = r + dr, nc = c + dc;
+                                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || !source[nr * cols + nc]) walls++;
+                            }
+                        }
+                        target[r * cols + c] = walls < 5;
+                    }
+                }
+            });
+        }
+        if (CAVE_ITERATIONS % 2 == 1) {
+            System.arraycopy(next, 0, open, 0, open.length);
+        }
+    }
+
+    private static boolean[] carveMaze(int rows, int cols, SplittableRandom rand) {
+        boolean[] open = new boolean[rows * cols];
+        int mazeRows = (rows - 1) / 2, mazeCols = (cols - 1) / 2;
+        if (mazeRows <= 0 || mazeCols <= 0) {
+            java.util.Arrays.fill(open, true);
+            return open;
+        }
+        boolean[] visited = new boolean[mazeRows * mazeCols];
+        int[] stack = new int[mazeRows * mazeCols];
+        int[] candidates = new int[4];
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] = true;
+        open[cols + 1] = true;
+        while (top > 0) {
+            int current = stack[top - 1];
+            int mr = current / mazeCols, mc = current % mazeCols;
+            int count = 0;
+            if (mr > 0 && !visited[current - mazeCols]) candidates[count++] = current - mazeCols;
+            if (mr < mazeRows - 1 && !visited[current + mazeCols]) candidates[count++] = current + mazeCols;
+            if (mc > 0 && !visited[current - 1]) candidates[count++] = current - 1;
+            if (mc < mazeCols - 1 && !visited[current + 1]) candidates[count++] = current + 1;
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int next = candidates[rand.nextInt(count)];
+            int nr = next / mazeCols, nc = next % mazeCols;
+            open[(mr + nr + 1) * cols + (mc + nc + 1)] = true;   // wall between the two lattice cells
+            open[(2 * nr + 1) * cols + (2 * nc + 1)] = true;
+            visited[next] = true;
+            stack[top++] = next;
+        }
+        return open;
+    }
+
+    private static boolean[] carveRooms(int rows, int cols, SplittableRandom rand) {
+        boolean[] open = new boolean[rows * cols];
+        int roomCount = Math.max(2, rows * cols / 400);
+        int previousRow = -1, previousCol = -1;
+        for (int room = 0; room < roomCount; room++) {
+            int height = Math.min(rows, 4 + rand.nextInt(9));
+            int width = Math.min(cols, 4 + rand.nextInt(9));
+            int top = rand.nextInt(rows - height + 1);
+            int left = rand.nextInt(cols - width + 1);
+            for (int r = top; r < top + height; r++) {
+                for (int c = left; c < left + width; c++) {
+                    open[r * cols + c] = true;
+                }
+            }
+            int centerRow = top + height / 2, centerCol = left + width / 2;
+            if (previousRow >= 0) {
+                for (int c = Math.min(previousCol, centerCol); c <= Math.max(previousCol, centerCol); c++) {
+                    open[previousRow * cols + c] = true;
+                }
+                for (int r = Math.min(previousRow, centerRow); r <= Math.max(previousRow, centerRow); r++) {
+                    open[r * cols + centerCol] = true;
+                }
+            }
+            previousRow = centerRow;
+            previousCol = centerCol;
+        }
+        return open;
+    }
+}
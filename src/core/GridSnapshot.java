@@ -0,0 +1,68 @@
+package core;
+
+/**
+ * One immutable version of a {@link VersionedGrid}. Weights are held in square tiles that are
+ * shared with every other version in which they were not edited, so a snapshot costs one
+ * reference per tile plus the tiles its edit touched. A request built on a snapshot sees the same
+ * map for its whole search no matter what is committed meanwhile. Cells are materialized per
+ * lookup and compare equal by position.
+ */
+public final class GridSnapshot extends Grid {
+    private final long version;
+    private final int tileSize;
+    private final int tileCols;
+    private final int[][] tiles; // never written after publication
+
+    GridSnapshot(int rows, int cols, double obstacleDensity, long version, int tileSize, int[][] tiles) {
+        super(rows, cols, obstacleDensity);
+        this.version = version;
+        this.tileSize = tileSize;
+        this.tileCols = (cols + tileSize - 1) / tileSize;
+        this.tiles = tiles;
+    }
+
+    public int weight(int row, int col) {
+        return tiles[(row / tileSize) * tileCols + col / tileSize][(row % tileSize) * tileSize + col % tileSize];
+    }
+
+    @Override
+    public Cell getCell(int row, int col) {
+        if (row < 0 || row >= getRows() || col < 0 || col >= getCols()) {
+            return null;
+        }
+        return new Cell(row, col, weight(row, col));
+    }
+
+    @Override
+    public int[] toWeightArray(CellIndex index) {
+        int[] result = new int[index.getCapacity()];
+        for (int r = 0; r < getRows(); r++) {
+            for (int c = 0; c < getCols(); c++) result[index.index(r, c)] = weight(r, c);
+        }
+        return result;
+    }
+
+    @Override
+    public void resetAllCells() {
+        // Cells are materialized per lookup and carry no search state between calls.
+    }
+
+    // Tiles this snapshot shares by reference with another, i.e. memory the pair does not duplicate.
+    public int sharedTileCount(GridSnapshot other) {
+        int shared = 0;
+        for (int t = 0; t < Math.min(tiles.length, other.tiles.length); t++) {
+            if (tiles[t] == other.tiles[t]) shared++;
+        }
+        return shared;
+    }
+
+    int[][] tiles() { return tiles; }
+    public long getVersion() { return version; }
+    public int getTileSize() { return tileSize; }
+    public int getTileCount() { return tiles.length; }
+
+    @Override
+    public String toString() {
+        return String.format("GridSnapshot v%d (%dx%d, %dx%d tiles)", version, getRows(), getCols(), tileSize, tileSize);
+    }
+}
@@ -0,0 +1,79 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only grid over a memory-mapped tile file (the {@link TiledGrid} format). Several
+ * processes opening the same file share one copy of the map in the OS page cache. Like
+ * TiledGrid, cells are materialized per lookup and compare equal by position.
+ */
+public class MappedGrid extends Grid implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int tileSize;
+    private final int tileCols;
+
+    private MappedGrid(FileChannel channel, MappedByteBuffer map, int rows, int cols, int tileSize, double obstacleDensity) {
+        super(rows, cols, obstacleDensity);
+        this.channel = channel;
+        this.map = map;
+        this.tileSize = tileSize;
+        this.tileCols = (cols + tileSize - 1) / tileSize;
+    }
+
+    public static MappedGrid open(java.nio.file.Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Map file too large for a single mapping: " + file);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer header = map.duplicate();
+            if (header.getInt() != TiledGrid.FILE_MAGIC) {
+                throw new IOException("Not a tiled grid file: " + file);
+            }
+            int rows = header.getInt();
+            int cols = header.getInt();
+            int tileSize = header.getInt();
+            double obstacleDensity = header.getDouble();
+            long expected = TiledGrid.HEADER_BYTES + (long) ((rows + tileSize - 1) / tileSize)
+                    * ((cols + tileSize - 1) / tileSize) * tileSize * tileSize;
+            if (channel.size() < expected) {
+                throw new IOException("Truncated tile file: " + file);
+            }
+            return new MappedGrid(channel, map, rows, cols, tileSize, obstacleDensity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Cell getCell(int row, int col) {
+        if (row < 0 || row >= getRows() || col < 0 || col >= getCols()) {
+            return null;
+        }
+        int tile = (row / tileSize) * tileCols + col / tileSize;
+        int offset = TiledGrid.HEADER_BYTES + tile * tileSize * tileSize + (row % tileSize) * tileSize + col % tileSize;
+        return new Cell(row, col, map.get(offset) & 0xFF);
+    }
+
+    @Override
+    public void resetAllCells() {
+        // Cells are materialized per lookup and carry no search state between calls.
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close(); // the mapping itself stays valid until the buffer is collected
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MappedGrid (%dx%d, %dx%d tiles)", getRows(), getCols(), tileSize, tileSize);
+    }
+}
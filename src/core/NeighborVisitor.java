@@ -0,0 +1,7 @@
+package core;
+
+// Receives the walkable neighbours of a cell from Grid.forEachNeighbor.
+@FunctionalInterface
+public interface NeighborVisitor {
+    void visit(Cell neighbor);
+}
@@ -0,0 +1,81 @@
+package core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Grid whose weights live in a single direct buffer outside the Java heap, one int per cell in
+ * row-major order. The buffer is written once and then only read, so any number of search
+ * threads can share it. Reads go through a {@link VarHandle} view, which bounds-checks every
+ * access. Like MappedGrid, cells are materialized per lookup and compare equal by position.
+ */
+public class OffHeapGrid extends Grid {
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer weights;
+
+    public OffHeapGrid(int rows, int cols, int[] rowMajorWeights) {
+        super(rows, cols, blockedFraction(rowMajorWeights));
+        if (rowMajorWeights.length != rows * cols) {
+            throw new IllegalArgumentException("Expected " + rows * cols + " weights, got " + rowMajorWeights.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(rowMajorWeights.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < rowMajorWeights.length; i++) {
+            INT.set(buffer, i * Integer.BYTES, Math.max(0, rowMajorWeights[i]));
+        }
+        this.weights = buffer.asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+    }
+
+    public static OffHeapGrid copyOf(Grid grid) {
+        return grid instanceof OffHeapGrid ? (OffHeapGrid) grid
+                : new OffHeapGrid(grid.getRows(), grid.getCols(), grid.toWeightArray());
+    }
+
+    private static double blockedFraction(int[] weights) {
+        int blocked = 0;
+        for (int weight : weights) {
+            if (weight <= 0) blocked++;
+        }
+        return weights.length == 0 ? 0.0 : (double) blocked / weights.length;
+    }
+
+    // Weight of a row-major slot; 0 means blocked.
+    public int weight(int slot) {
+        return (int) INT.get(weights, slot * Integer.BYTES);
+    }
+
+    @Override
+    public Cell getCell(int row, int col) {
+        if (row < 0 || row >= getRows() || col < 0 || col >= getCols()) {
+            return null;
+        }
+        return new Cell(row, col, weight(row * getCols() + col));
+    }
+
+    @Override
+    public int[] toWeightArray(CellIndex index) {
+        int[] result = new int[index.getCapacity()];
+        int cols = getCols();
+        for (int r = 0; r < getRows(); r++) {
+            for (int c = 0; c < cols; c++) result[index.index(r, c)] = weight(r * cols + c);
+        }
+        return result;
+    }
+
+    @Override
+    public void resetAllCells() {
+        // Cells are materialized per lookup and carry no search state between calls.
+    }
+
+    public long getOffHeapBytes() {
+        return weights.capacity();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapGrid (%dx%d, %.1f MB off-heap)", getRows(), getCols(),
+                getOffHeapBytes() / (1024.0 * 1024.0));
+    }
+}
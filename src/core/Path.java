@@ -1,32 +1,67 @@
 package core;
 
+import java.util.Iterator;
 import java.util.List;
 
-public class Path {
+public class Path implements Iterable<Cell> {
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        COST_LIMIT_EXCEEDED,
+        NODE_BUDGET_EXCEEDED,
+        TIMED_OUT,
+        CANCELLED
+    }
     private final List<Cell> cells;
-    private final double totalCost;
-    private final boolean found;
-    public Path(List<Cell> cells, double totalCost) {
-        this.cells = cells;
-        this.totalCost = totalCost;
-        this.found = true;
+    private final long cost;
+    private final Status status;
+    private final long expandedNodes;
+    public Path(List<Cell> cells, long cost) {
+        this(cells, cost, Status.FOUND, 0);
+    }
+    public Path(List<Cell> cells, long cost, long expandedNodes) {
+        this(cells, cost, Status.FOUND, expandedNodes);
     }
     public static Path notFound() {
-        return new Path(List.of(), 0.0, false);
+        return new Path(List.of(), 0, Status.NOT_FOUND, 0);
+    }
+    // A search stopped by its limits: cells/cost describe the best partial path towards the goal.
+    public static Path limitReached(Status status, List<Cell> partialCells, long partialCost, long expandedNodes) {
+        if (status == Status.FOUND || status == Status.NOT_FOUND) {
+            throw new IllegalArgumentException("Not a limit status: " + status);
+        }
+        return new Path(partialCells, partialCost, status, expandedNodes);
+    }
+    // For representations that materialize their cells lazily and override getCells()/length()/iterator().
+    protected Path(long cost, Status status, long expandedNodes) {
+        this(null, cost, status, expandedNodes);
     }
-    private Path(List<Cell> cells, double totalCost, boolean found) {
+    private Path(List<Cell> cells, long cost, Status status, long expandedNodes) {
         this.cells = cells;
-        this.totalCost = totalCost;
-        this.found = found;
+        this.cost = cost;
+        this.status = status;
+        this.expandedNodes = expandedNodes;
     }
     public List<Cell> getCells() { return cells; }
-    public double getTotalCost() { return totalCost; }
-    public boolean isFound() { return found; }
+    public int length() { return cells.size(); }
+    @Override
+    public Iterator<Cell> iterator() { return getCells().iterator(); }
+    public long getCost() { return cost; }
+    // Costs are sums of int weights; this view keeps callers written against double costs working.
+    public double getTotalCost() { return cost; }
+    public boolean isFound() { return status == Status.FOUND; }
+    public Status getStatus() { return status; }
+    public boolean isLimitReached() { return status != Status.FOUND && status != Status.NOT_FOUND; }
+    public long getExpandedNodes() { return expandedNodes; }
     @Override
     public String toString() {
-        if (!found) {
+        if (status == Status.NOT_FOUND) {
             return "Path not found.";
         }
-        return String.format("Path found (Length: %d, Cost: %.2f)", cells.size(), totalCost);
+        if (isLimitReached()) {
+            return String.format("Search stopped: %s after %d nodes (best partial length: %d, cost: %d)",
+                    status, expandedNodes, length(), cost);
+        }
+        return String.format("Path found (Length: %d, Cost: %d)", length(), cost);
     }
 }
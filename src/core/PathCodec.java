@@ -0,0 +1,59 @@
+package core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Binary path format: status, cost, expanded nodes, then (for paths with cells) the step count,
+// start cell and packed move words. Writing a CompactPath touches no per-step objects.
+public class PathCodec {
+    private static final int NO_CELLS = -1;
+
+    public static void write(Path path, DataOutput out) throws IOException {
+        out.writeByte(path.getStatus().ordinal());
+        out.writeLong(path.getCost());
+        out.writeLong(path.getExpandedNodes());
+        if (path.getStatus() == Path.Status.NOT_FOUND) {
+            return;
+        }
+        if (path.length() == 0) {
+            out.writeInt(NO_CELLS);
+            return;
+        }
+        CompactPath compact = path instanceof CompactPath ? (CompactPath) path
+                : CompactPath.fromCells(null, path.getCells(), path.getCost(), path.getStatus(), path.getExpandedNodes());
+        out.writeInt(compact.getStepCount());
+        out.writeInt(compact.getStartRow());
+        out.writeInt(compact.getStartCol());
+        long[] words = compact.moveWords();
+        int wordCount = CompactPath.wordsFor(compact.getStepCount());
+        for (int i = 0; i < wordCount; i++) {
+            out.writeLong(words[i]);
+        }
+    }
+
+    public static Path read(DataInput in, Grid grid) throws IOException {
+        int ordinal = in.readByte();
+        Path.Status[] statuses = Path.Status.values();
+        if (ordinal < 0 || ordinal >= statuses.length) {
+            throw new IOException("Unknown path status: " + ordinal);
+        }
+        Path.Status status = statuses[ordinal];
+        long cost = in.readLong();
+        long expandedNodes = in.readLong();
+        if (status == Path.Status.NOT_FOUND) {
+            return Path.notFound();
+        }
+        int steps = in.readInt();
+        if (steps == NO_CELLS) {
+            return Path.limitReached(status, java.util.List.of(), cost, expandedNodes);
+        }
+        int startRow = in.readInt();
+        int startCol = in.readInt();
+        long[] moves = new long[CompactPath.wordsFor(steps)];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = in.readLong();
+        }
+        return new CompactPath(grid, startRow, startCol, steps, moves, cost, status, expandedNodes);
+    }
+}
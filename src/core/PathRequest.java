@@ -5,11 +5,16 @@ public class PathRequest {
     private final Cell startCell;
     private final Cell goalCell;
     private final int requestId;
+    private final SearchLimits limits;
     public PathRequest(int requestId, Grid grid, Cell startCell, Cell goalCell) {
+        this(requestId, grid, startCell, goalCell, SearchLimits.NONE);
+    }
+    public PathRequest(int requestId, Grid grid, Cell startCell, Cell goalCell, SearchLimits limits) {
         this.requestId = requestId;
         this.grid = grid;
         this.startCell = startCell;
         this.goalCell = goalCell;
+        this.limits = limits == null ? SearchLimits.NONE : limits;
         if (startCell == null || goalCell == null) {
             throw new IllegalArgumentException("Start and Goal cells must not be null.");
         }
@@ -18,6 +23,7 @@ public class PathRequest {
     public Grid getGrid() { return grid; }
     public Cell getStartCell() { return startCell; }
     public Cell getGoalCell() { return goalCell; }
+    public SearchLimits getLimits() { return limits; }
     @Override
     public String toString() {
         return String.format("Request %d: %s -> %s", requestId, startCell, goalCell);
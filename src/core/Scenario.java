@@ -0,0 +1,90 @@
+package core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A Moving AI .scen file: one request per line with its bucket and the optimal length published
+ * with the benchmark. Those lengths are for octile movement (diagonals cost sqrt 2, no corner
+ * cutting), so on a unit-weight 4-connected grid the optimal cost c of the same request always
+ * satisfies length <= c <= sqrt(2) * length; {@link #isConsistent} checks exactly that.
+ */
+public class Scenario {
+    private static final double TOLERANCE = 1e-4; // lengths are printed with 8 decimals
+
+    private final String mapName;
+    private final List<PathRequest> requests;
+    private final int[] buckets;
+    private final double[] optimalLengths;
+
+    private Scenario(String mapName, List<PathRequest> requests, int[] buckets, double[] optimalLengths) {
+        this.mapName = mapName;
+        this.requests = Collections.unmodifiableList(requests);
+        this.buckets = buckets;
+        this.optimalLengths = optimalLengths;
+    }
+
+    public static Scenario read(java.nio.file.Path file, Grid grid) throws IOException {
+        ByteTokenizer in = ByteTokenizer.open(file);
+        in.expect("version");
+        in.nextToken();
+        String mapName = null;
+        List<PathRequest> requests = new ArrayList<>();
+        List<Integer> buckets = new ArrayList<>();
+        List<Double> lengths = new ArrayList<>();
+        while (in.hasMore()) {
+            int bucket = in.nextInt();
+            String map = in.nextToken();
+            int width = in.nextInt(), height = in.nextInt();
+            int startCol = in.nextInt(), startRow = in.nextInt();
+            int goalCol = in.nextInt(), goalRow = in.nextInt();
+            double length = in.nextDouble();
+            if (width != grid.getCols() || height != grid.getRows()) {
+                throw in.error("scenario is for a " + height + "x" + width + " map, grid is " + grid.getRows() + "x" + grid.getCols());
+            }
+            Cell start = grid.getCell(startRow, startCol), goal = grid.getCell(goalRow, goalCol);
+            if (start == null || goal == null) throw in.error("endpoint outside the map");
+            if (mapName == null) mapName = map;
+            requests.add(new PathRequest(requests.size() + 1, grid, start, goal));
+            buckets.add(bucket);
+            lengths.add(length);
+        }
+        return new Scenario(mapName, requests, buckets.stream().mapToInt(Integer::intValue).toArray(),
+                lengths.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    // Writes requests with the given expected lengths; buckets are length / 4 as in the published sets.
+    public static void write(java.nio.file.Path file, String mapName, List<PathRequest> requests, double[] lengths)
+            throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            out.write("version 1\n");
+            for (int i = 0; i < requests.size(); i++) {
+                PathRequest request = requests.get(i);
+                Grid grid = request.getGrid();
+                out.write(String.format(Locale.ROOT, "%d\t%s\t%d\t%d\t%d\t%d\t%d\t%d\t%.8f\n", (int) (lengths[i] / 4),
+                        mapName, grid.getCols(), grid.getRows(), request.getStartCell().getCol(),
+                        request.getStartCell().getRow(), request.getGoalCell().getCol(), request.getGoalCell().getRow(),
+                        lengths[i]));
+            }
+        }
+    }
+
+    // Whether a 4-connected unit-weight result agrees with the published octile length.
+    public boolean isConsistent(int index, Path path) {
+        double length = optimalLengths[index];
+        if (!path.isFound()) return false;
+        return path.getCost() >= length - TOLERANCE && path.getCost() <= Math.sqrt(2) * length + TOLERANCE;
+    }
+
+    public String getMapName() { return mapName; }
+    public List<PathRequest> getRequests() { return requests; }
+    public int size() { return requests.size(); }
+    public int getBucket(int index) { return buckets[index]; }
+    public double getOptimalLength(int index) { return optimalLengths[index]; }
+}
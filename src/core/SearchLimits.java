@@ -0,0 +1,49 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+
+public class SearchLimits {
+    public static final SearchLimits NONE = new SearchLimits(Long.MAX_VALUE, Long.MAX_VALUE, 0L, false);
+
+    private final long maxCost;
+    private final long maxExpandedNodes;
+    private final long deadlineNanos; // System.nanoTime() based, only meaningful when hasDeadline
+    private final boolean hasDeadline;
+
+    private SearchLimits(long maxCost, long maxExpandedNodes, long deadlineNanos, boolean hasDeadline) {
+        this.maxCost = maxCost;
+        this.maxExpandedNodes = maxExpandedNodes;
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+    public SearchLimits withMaxCost(long maxCost) {
+        return new SearchLimits(maxCost, maxExpandedNodes, deadlineNanos, hasDeadline);
+    }
+    public SearchLimits withMaxExpandedNodes(long maxExpandedNodes) {
+        return new SearchLimits(maxCost, maxExpandedNodes, deadlineNanos, hasDeadline);
+    }
+    public SearchLimits withDeadline(long deadlineNanos) {
+        return new SearchLimits(maxCost, maxExpandedNodes, deadlineNanos, true);
+    }
+    public SearchLimits withTimeout(long timeout, TimeUnit unit) {
+        return withDeadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+    public long getMaxCost() { return maxCost; }
+    public long getMaxExpandedNodes() { return maxExpandedNodes; }
+    public boolean hasDeadline() { return hasDeadline; }
+    public long getDeadlineNanos() { return deadlineNanos; }
+    public long remainingNanos() {
+        return hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+    public boolean isUnbounded() {
+        return maxCost == Long.MAX_VALUE && maxExpandedNodes == Long.MAX_VALUE && !hasDeadline;
+    }
+    @Override
+    public String toString() {
+        if (isUnbounded()) return "unbounded";
+        return String.format("maxCost=%s, maxNodes=%s, deadline=%s",
+                maxCost == Long.MAX_VALUE ? "-" : String.valueOf(maxCost),
+                maxExpandedNodes == Long.MAX_VALUE ? "-" : String.valueOf(maxExpandedNodes),
+                hasDeadline ? String.format("%.1f ms", remainingNanos() / 1_000_000.0) : "-");
+    }
+}
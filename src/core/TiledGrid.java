@@ -0,0 +1,221 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Grid backend that keeps its weights in a tile file and pages fixed-size tiles in on demand.
+ * Only a bounded number of tiles is held in memory (least recently used tiles are evicted),
+ * so maps larger than the heap can be searched by the regular finders. Cells are materialized
+ * per lookup and compare equal by position, so map-based finders work unchanged. Cached tiles
+ * are read without locking, so finder threads sharing a grid run in parallel; a miss reads its
+ * tile outside any lock, and recency is tracked per miss rather than per lookup.
+ */
+public class TiledGrid extends Grid implements AutoCloseable {
+    public static final int DEFAULT_TILE_SIZE = 256;
+    static final int FILE_MAGIC = 0x54494C45; // "TILE"
+    static final int HEADER_BYTES = 24;
+
+    private final FileChannel channel;
+    private final int tileSize;
+    private final int tileCols;
+    private final int maxCachedTiles;
+    private final ConcurrentHashMap<Integer, CachedTile> tileCache = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    // Advances on every miss; a hit stamps its tile with the current value, so the eviction victim is a
+    // tile not touched since the earliest miss. Cheaper than a shared per-lookup counter on the hot path.
+    private final AtomicLong missClock = new AtomicLong();
+    private final LongAdder tileHits = new LongAdder();
+    private final LongAdder tileMisses = new LongAdder();
+    private final LongAdder tileEvictions = new LongAdder();
+
+    private static final class CachedTile {
+        final byte[] weights;
+        volatile long lastUse;
+        CachedTile(byte[] weights, long lastUse) {
+            this.weights = weights;
+            this.lastUse = lastUse;
+        }
+    }
+
+    private TiledGrid(FileChannel channel, int rows, int cols, int tileSize, double obstacleDensity, int maxCachedTiles) {
+        super(rows, cols, obstacleDensity);
+        this.channel = channel;
+        this.tileSize = tileSize;
+        this.tileCols = (cols + tileSize - 1) / tileSize;
+        this.maxCachedTiles = Math.max(1, maxCachedTiles);
+    }
+
+    public static TiledGrid open(java.nio.file.Path file, int maxCachedTiles) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != FILE_MAGIC) {
+            channel.close();
+            throw new IOException("Not a tiled grid file: " + file);
+        }
+        int rows = header.getInt();
+        int cols = header.getInt();
+        int tileSize = header.getInt();
+        double obstacleDensity = header.getDouble();
+        return new TiledGrid(channel, rows, cols, tileSize, obstacleDensity, maxCachedTiles);
+    }
+
+    public static void write(Grid source, java.nio.file.Path file, int tileSize) throws IOException {
+        write(file, source.getRows(), source.getCols(), tileSize,
+                (r, c) -> source.isWalkable(source.getCell(r, c)) ? source.getCell(r, c).getWeight() : 0);
+    }
+
+    public static void writeRandom(java.nio.file.Path file, int rows, int cols, int tileSize,
+                                   int maxWeight, double obstacleDensity, long seed) throws IOException {
+        // Each tile is generated from its own seeded stream, so only one tile is ever held in memory.
+        int tileCols = (cols + tileSize - 1) / tileSize;
+        write(file, rows, cols, tileSize, new WeightSource() {
+            private int currentTile = -1;
+            private Random rand;
+            @Override
+            public int weightAt(int r, int c) {
+                int tile = (r / tileSize) * tileCols + c / tileSize;
+                if (tile != currentTile) {
+                    currentTile = tile;
+                    rand = new Random(seed * 31 + tile);
+                }
+                return rand.nextDouble() < obstacleDensity ? 0 : rand.nextInt(maxWeight) + 1;
+            }
+        });
+    }
+
+    private interface WeightSource {
+        int weightAt(int r, int c);
+    }
+
+    // The header's obstacle density is counted from the weights written, so it is filled in last.
+    private static void write(java.nio.file.Path file, int rows, int cols, int tileSize, WeightSource source)
+            throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.position(HEADER_BYTES);
+            long obstacles = 0;
+            ByteBuffer tile = ByteBuffer.allocate(tileSize * tileSize);
+            for (int tileRow = 0; tileRow * tileSize < rows; tileRow++) {
+                for (int tileCol = 0; tileCol * tileSize < cols; tileCol++) {
+                    tile.clear();
+                    for (int r = tileRow * tileSize; r < (tileRow + 1) * tileSize; r++) {
+                        for (int c = tileCol * tileSize; c < (tileCol + 1) * tileSize; c++) {
+                            int weight = r < rows && c < cols ? source.weightAt(r, c) : 0;
+                            if (weight == 0 && r < rows && c < cols) obstacles++;
+                            if (weight > 0xFF) {
+                                throw new IllegalArgumentException("Tiled grids store weights up to 255, got " + weight);
+                            }
+                            tile.put((byte) weight);
+                        }
+                    }
+                    tile.flip();
+                    while (tile.hasRemaining()) out.write(tile);
+                }
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(FILE_MAGIC).putInt(rows).putInt(cols).putInt(tileSize)
+                    .putDouble((double) obstacles / ((long) rows * cols));
+            header.flip();
+            while (header.hasRemaining()) out.write(header, header.position());
+        }
+    }
+
+    @Override
+    public Cell getCell(int row, int col) {
+        if (row < 0 || row >= getRows() || col < 0 || col >= getCols()) {
+            return null;
+        }
+        byte[] tile = tile((row / tileSize) * tileCols + col / tileSize);
+        return new Cell(row, col, tile[(row % tileSize) * tileSize + col % tileSize] & 0xFF);
+    }
+
+    private byte[] tile(int tileIndex) {
+        CachedTile cached = tileCache.get(tileIndex);
+        if (cached != null) {
+            tileHits.increment();
+            long now = missClock.get();
+            if (cached.lastUse != now) cached.lastUse = now;
+            return cached.weights;
+        }
+        tileMisses.increment();
+        // Two threads missing on the same tile may both read it; the first one published wins.
+        CachedTile loaded = new CachedTile(readTile(tileIndex), missClock.incrementAndGet());
+        CachedTile raced = tileCache.putIfAbsent(tileIndex, loaded);
+        if (raced != null) return raced.weights;
+        if (tileCache.size() > maxCachedTiles) evict();
+        return loaded.weights;
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            while (tileCache.size() > maxCachedTiles) {
+                Map.Entry<Integer, CachedTile> eldest = null;
+                for (Map.Entry<Integer, CachedTile> entry : tileCache.entrySet()) {
+                    if (eldest == null || entry.getValue().lastUse < eldest.getValue().lastUse) eldest = entry;
+                }
+                if (eldest == null || !tileCache.remove(eldest.getKey(), eldest.getValue())) continue;
+                tileEvictions.increment();
+            }
+        }
+    }
+
+    private byte[] readTile(int tileIndex) {
+        byte[] tile = new byte[tileSize * tileSize];
+        ByteBuffer buffer = ByteBuffer.wrap(tile);
+        long position = HEADER_BYTES + (long) tileIndex * tile.length;
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of tile file at tile " + tileIndex);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to page in tile " + tileIndex, e);
+        }
+        return tile;
+    }
+
+    @Override
+    public void resetAllCells() {
+        // Cells are materialized per lookup and carry no search state between calls.
+    }
+
+    public int getTileSize() { return tileSize; }
+    public int getMaxCachedTiles() { return maxCachedTiles; }
+    public int getCachedTileCount() { return tileCache.size(); }
+    public long getTileHits() { return tileHits.sum(); }
+    public long getTileMisses() { return tileMisses.sum(); }
+    public long getTileEvictions() { return tileEvictions.sum(); }
+    public double getTileHitRate() {
+        long hits = tileHits.sum();
+        long total = hits + tileMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+    public void resetTileStats() {
+        tileHits.reset();
+        tileMisses.reset();
+        tileEvictions.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        tileCache.clear();
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TiledGrid (%dx%d, %dx%d tiles, cache %d/%d, hit rate %.1f%%)",
+                getRows(), getCols(), tileSize, tileSize, getCachedTileCount(), maxCachedTiles, getTileHitRate() * 100);
+    }
+}
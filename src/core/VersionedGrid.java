@@ -0,0 +1,111 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A map that can be edited while queries run. Readers take the current {@link GridSnapshot}
+ * with a single volatile read and never wait; writers are serialized among themselves, copy only
+ * the tiles their edit touches, and publish the result as a new snapshot. Requests created via
+ * {@link #newRequest} pin the snapshot that was current at creation.
+ */
+public class VersionedGrid {
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private final int rows;
+    private final int cols;
+    private final int tileSize;
+    private final int tileCols;
+    private final Object writeLock = new Object();
+    private volatile GridSnapshot current;
+    private long blockedCells; // guarded by writeLock
+    private final AtomicLong tilesCopied = new AtomicLong();
+
+    public VersionedGrid(Grid source) {
+        this(source, DEFAULT_TILE_SIZE);
+    }
+    public VersionedGrid(Grid source, int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive, got " + tileSize);
+        }
+        this.rows = source.getRows();
+        this.cols = source.getCols();
+        this.tileSize = tileSize;
+        this.tileCols = (cols + tileSize - 1) / tileSize;
+        int tileRows = (rows + tileSize - 1) / tileSize;
+        int[][] tiles = new int[tileRows * tileCols][tileSize * tileSize]; // padding cells stay 0, i.e. blocked
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Cell cell = source.getCell(r, c);
+                int weight = source.isWalkable(cell) ? cell.getWeight() : 0;
+                tiles[tileOf(r, c)][offsetOf(r, c)] = weight;
+                if (weight == 0) blockedCells++;
+            }
+        }
+        this.current = new GridSnapshot(rows, cols, density(), 0, tileSize, tiles);
+    }
+
+    public GridSnapshot snapshot() {
+        return current;
+    }
+
+    public PathRequest newRequest(int requestId, int startRow, int startCol, int goalRow, int goalCol) {
+        return newRequest(requestId, startRow, startCol, goalRow, goalCol, SearchLimits.NONE);
+    }
+    public PathRequest newRequest(int requestId, int startRow, int startCol, int goalRow, int goalCol, SearchLimits limits) {
+        GridSnapshot pinned = current;
+        return new PathRequest(requestId, pinned, pinned.getCell(startRow, startCol), pinned.getCell(goalRow, goalCol), limits);
+    }
+
+    public GridSnapshot setWeight(int row, int col, int weight) {
+        return fillRect(row, col, 1, 1, weight);
+    }
+
+    // Sets every cell of the rectangle (clipped to the grid) to weight, as one new version.
+    public GridSnapshot fillRect(int top, int left, int height, int width, int weight) {
+        int value = Math.max(0, weight);
+        int bottom = Math.min(rows, top + height), right = Math.min(cols, left + width);
+        top = Math.max(0, top);
+        left = Math.max(0, left);
+        synchronized (writeLock) {
+            GridSnapshot base = current;
+            int[][] tiles = base.tiles().clone();
+            boolean[] copied = new boolean[tiles.length];
+            for (int r = top; r < bottom; r++) {
+                for (int c = left; c < right; c++) {
+                    int t = tileOf(r, c), o = offsetOf(r, c);
+                    int old = tiles[t][o];
+                    if (old == value) continue;
+                    if (!copied[t]) {
+                        tiles[t] = Arrays.copyOf(tiles[t], tiles[t].length);
+                        copied[t] = true;
+                        tilesCopied.incrementAndGet();
+                    }
+                    tiles[t][o] = value;
+                    if (old == 0) blockedCells--;
+                    if (value == 0) blockedCells++;
+                }
+            }
+            GridSnapshot next = new GridSnapshot(rows, cols, density(), base.getVersion() + 1, tileSize, tiles);
+            current = next;
+            return next;
+        }
+    }
+
+    private int tileOf(int row, int col) {
+        return (row / tileSize) * tileCols + col / tileSize;
+    }
+    private int offsetOf(int row, int col) {
+        return (row % tileSize) * tileSize + col % tileSize;
+    }
+    private double density() {
+        return rows * cols == 0 ? 0.0 : (double) blockedCells / ((long) rows * cols);
+    }
+
+    public long getVersion() { return current.getVersion(); }
+    public long getTilesCopied() { return tilesCopied.get(); }
+    public long getTileBytes() { return (long) tileSize * tileSize * Integer.BYTES; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int getTileSize() { return tileSize; }
+}
@@ -0,0 +1,76 @@
+package engine;
+
+import core.*;
+import algorithm.AdaptivePathFinder;
+import algorithm.ContractionHierarchy;
+import algorithm.CorridorPathFinder;
+import algorithm.IndexedDijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a mixed near/uniform/far workload through the engine with each exact finder on its own
+ * and with an {@link AdaptivePathFinder} choosing among them, over several rounds so the adaptive
+ * finder's learning shows, and prints the decisions it settled on.
+ */
+public class AdaptiveFinderBenchmark {
+    private static final WorkloadGenerator.RequestDistribution[] MIX = {WorkloadGenerator.RequestDistribution.NEAR,
+            WorkloadGenerator.RequestDistribution.UNIFORM, WorkloadGenerator.RequestDistribution.FAR};
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : PathfindingExperiment.BENCHMARK_GRID_SIZE;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int requestsPerRound = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        run(size, rounds, requestsPerRound, threads);
+    }
+
+    public static void run(int size, int rounds, int requestsPerRound, int threads) {
+        System.out.printf("\n--- Adaptive Finder Benchmark (%dx%d, %d rounds x %d mixed requests, %d threads) ---\n",
+                size, size, rounds, requestsPerRound, threads);
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        WorkloadGenerator generator = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED);
+        List<List<PathRequest>> workload = new ArrayList<>();
+        for (int round = 0; round < rounds; round++) {
+            List<PathRequest> requests = new ArrayList<>();
+            for (WorkloadGenerator.RequestDistribution distribution : MIX) {
+                requests.addAll(generator.generateRequests(grid, requestsPerRound / MIX.length, distribution));
+            }
+            workload.add(requests);
+        }
+
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(grid, threads);
+        System.out.printf("Contraction hierarchy built in %d ms\n", hierarchy.getBuildTimeMs());
+        IndexedDijkstraPathFinder indexed = new IndexedDijkstraPathFinder();
+        CorridorPathFinder corridor = new CorridorPathFinder();
+        AdaptivePathFinder adaptive = new AdaptivePathFinder(indexed, corridor).registerIndex(grid, hierarchy);
+
+        List<List<Path>> expected = new ArrayList<>();
+        System.out.println("Finder                                               | First round (ms) | Later rounds (ms) | Mismatches");
+        for (PathFinder finder : new PathFinder[]{indexed, corridor, hierarchy, adaptive}) {
+            ParallelPathfindingEngine engine = new ParallelPathfindingEngine(threads, finder);
+            double firstMs = 0, laterMs = 0;
+            int mismatches = 0;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                List<Path> paths = engine.processRequests(workload.get(round));
+                double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+                if (round == 0) firstMs = elapsedMs;
+                else laterMs += elapsedMs;
+                if (expected.size() <= round) {
+                    expected.add(paths);
+                    continue;
+                }
+                for (int i = 0; i < paths.size(); i++) {
+                    Path want = expected.get(round).get(i), got = paths.get(i);
+                    if (want.isFound() != got.isFound() || want.getCost() != got.getCost()) mismatches++;
+                }
+            }
+            System.out.printf("%-52s | %16.1f | %17.1f | %d\n", finder.getFinderName(), firstMs, laterMs, mismatches);
+        }
+        System.out.print(adaptive.describeDecisions());
+    }
+}
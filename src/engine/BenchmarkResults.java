@@ -1,22 +1,53 @@
 package engine;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 public class BenchmarkResults {
-    public final double sequentialTimeMs;
-    public final double parallelTimeMs;
+    public final double sequentialTimeMs;  // mean over trials
+    public final double parallelTimeMs;    // mean over trials
     public final long pathsFound;
     public final int totalRequests;
     public final int threadCount;
+    public final int trials;
+    public final double sequentialStdDevMs;
+    public final double parallelStdDevMs;
+    public final double sequentialCi95Ms;  // half-width of the 95% confidence interval of the mean
+    public final double parallelCi95Ms;
+    public final double p50LatencyMs;      // per-request latency in the parallel runs
+    public final double p99LatencyMs;
     public BenchmarkResults(double sequentialTimeMs, double parallelTimeMs, long pathsFound, int totalRequests, int threadCount) {
+        this(sequentialTimeMs, parallelTimeMs, pathsFound, totalRequests, threadCount, 1, 0, 0, 0, 0, 0, 0);
+    }
+    public BenchmarkResults(double sequentialTimeMs, double parallelTimeMs, long pathsFound, int totalRequests, int threadCount,
+                            int trials, double sequentialStdDevMs, double parallelStdDevMs,
+                            double sequentialCi95Ms, double parallelCi95Ms, double p50LatencyMs, double p99LatencyMs) {
         this.sequentialTimeMs = sequentialTimeMs;
         this.parallelTimeMs = parallelTimeMs;
         this.pathsFound = pathsFound;
         this.totalRequests = totalRequests;
         this.threadCount = threadCount;
+        this.trials = trials;
+        this.sequentialStdDevMs = sequentialStdDevMs;
+        this.parallelStdDevMs = parallelStdDevMs;
+        this.sequentialCi95Ms = sequentialCi95Ms;
+        this.parallelCi95Ms = parallelCi95Ms;
+        this.p50LatencyMs = p50LatencyMs;
+        this.p99LatencyMs = p99LatencyMs;
     }
     public double calculateSpeedup() {
         if (parallelTimeMs == 0) return 0.0;
         return sequentialTimeMs / parallelTimeMs;
     }
+    public double calculateEfficiency() {
+        return threadCount == 0 ? 0.0 : calculateSpeedup() / threadCount;
+    }
     public double calculateSequentialThroughput() {
         // Convert ms to seconds: Time / 1000.0
         if (sequentialTimeMs == 0) return 0.0;
@@ -26,4 +57,58 @@ public class BenchmarkResults {
         if (parallelTimeMs == 0) return 0.0;
         return totalRequests / (parallelTimeMs / 1000.0);
     }
+
+    // Least-squares serial fraction f of Amdahl's law, S(N) = 1 / (f + (1 - f) / N), fitted on 1/S.
+    public static double fitAmdahlSerialFraction(List<BenchmarkResults> results) {
+        double xy = 0, xx = 0;
+        for (BenchmarkResults r : results) {
+            double speedup = r.calculateSpeedup();
+            if (speedup <= 0 || r.threadCount <= 1) continue;
+            double x = 1.0 - 1.0 / r.threadCount;
+            xy += x * (1.0 / speedup - 1.0 / r.threadCount);
+            xx += x * x;
+        }
+        return xx == 0 ? Double.NaN : Math.max(0.0, Math.min(1.0, xy / xx));
+    }
+    // Least-squares serial fraction a of Gustafson's law, S(N) = N - a (N - 1).
+    public static double fitGustafsonSerialFraction(List<BenchmarkResults> results) {
+        double xy = 0, xx = 0;
+        for (BenchmarkResults r : results) {
+            if (r.threadCount <= 1) continue;
+            double x = r.threadCount - 1;
+            xy += x * (r.threadCount - r.calculateSpeedup());
+            xx += x * x;
+        }
+        return xx == 0 ? Double.NaN : Math.max(0.0, Math.min(1.0, xy / xx));
+    }
+    public static double amdahlSpeedup(double serialFraction, int threads) {
+        return 1.0 / (serialFraction + (1.0 - serialFraction) / threads);
+    }
+
+    public static String csvHeader() {
+        return "timestamp,threads,trials,requests,found,sequential_ms,sequential_sd_ms,sequential_ci95_ms,"
+                + "parallel_ms,parallel_sd_ms,parallel_ci95_ms,speedup,efficiency,throughput_rps,p50_ms,p99_ms";
+    }
+    public String toCsvRow(Instant timestamp) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                timestamp, threadCount, trials, totalRequests, pathsFound, sequentialTimeMs, sequentialStdDevMs,
+                sequentialCi95Ms, parallelTimeMs, parallelStdDevMs, parallelCi95Ms, calculateSpeedup(),
+                calculateEfficiency(), calculateParallelThroughput(), p50LatencyMs, p99LatencyMs);
+    }
+    // Appends one timestamped row per result, writing the header only for a new file, so runs accumulate.
+    public static void appendCsv(List<BenchmarkResults> results, java.nio.file.Path file) throws IOException {
+        Instant now = Instant.now();
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(file) || Files.size(file) == 0) lines.add(csvHeader());
+        for (BenchmarkResults r : results) lines.add(r.toCsvRow(now));
+        Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    // Writes a new file with the header and one timestamped row per result, replacing any existing content.
+    public static void writeCsv(List<BenchmarkResults> results, java.nio.file.Path file) throws IOException {
+        Instant now = Instant.now();
+        List<String> lines = new ArrayList<>();
+        lines.add(csvHeader());
+        for (BenchmarkResults r : results) lines.add(r.toCsvRow(now));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
 }
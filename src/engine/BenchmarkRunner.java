@@ -0,0 +1,164 @@
+package engine;
+
+import core.*;
+import algorithm.DijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Speedup measurement over one fixed workload: the grid and requests are generated once and
+ * reused for the sequential baseline and every thread count. Each configuration is warmed up
+ * until its round time stops improving before the timed trials, every worker thread gets its
+ * own finder instance, and the baseline is measured once (warm) rather than cold per thread count.
+ */
+public class BenchmarkRunner {
+    public static final int DEFAULT_WARMUP_ROUNDS = 3;
+    private static final int MAX_WARMUP_ROUNDS = 30;
+    public static final int DEFAULT_TRIALS = 5;
+    // Two-sided 95% t critical values for 1..30 degrees of freedom.
+    private static final double[] T_95 = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    private final List<PathRequest> requests;
+    private final Supplier<PathFinder> finderFactory;
+    private final int warmupRounds;
+    private final int trials;
+    private double[] sequentialTrialsMs;
+
+    public BenchmarkRunner() {
+        this(new Grid(PathfindingExperiment.BENCHMARK_GRID_SIZE, PathfindingExperiment.BENCHMARK_GRID_SIZE,
+                        PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY, PathfindingExperiment.BENCHMARK_SEED),
+                PathfindingExperiment.NUM_REQUESTS, DijkstraPathFinder::new, DEFAULT_WARMUP_ROUNDS, DEFAULT_TRIALS);
+    }
+    public BenchmarkRunner(Grid grid, int requestCount, Supplier<PathFinder> finderFactory, int warmupRounds, int trials) {
+        this.requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, requestCount, WorkloadGenerator.RequestDistribution.UNIFORM);
+        this.finderFactory = finderFactory;
+        this.warmupRounds = Math.max(0, warmupRounds);
+        this.trials = Math.max(1, trials);
+    }
+
+    public List<BenchmarkResults> runSweep(int[] threadCounts) {
+        List<BenchmarkResults> results = new ArrayList<>();
+        for (int threads : threadCounts) results.add(run(threads));
+        return results;
+    }
+
+    public BenchmarkResults run(int threadCount) {
+        double[] sequential = sequentialTrials();
+        System.out.printf("\n--- Running Benchmark (%d Threads, %d warm-up rounds, %d trials) ---\n",
+                threadCount, warmupRounds, trials);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        ThreadLocal<PathFinder> finders = ThreadLocal.withInitial(finderFactory);
+        double[] parallel = new double[trials];
+        long[] latencies = new long[trials * requests.size()];
+        long found = 0;
+        try {
+            warmUp(() -> runParallel(executor, finders, null, 0));
+            for (int trial = 0; trial < trials; trial++) {
+                long start = System.nanoTime();
+                found = runParallel(executor, finders, latencies, trial * requests.size());
+                parallel[trial] = (System.nanoTime() - start) / 1_000_000.0;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Arrays.sort(latencies);
+        BenchmarkResults result = new BenchmarkResults(mean(sequential), mean(parallel), found, requests.size(), threadCount,
+                trials, stdDev(sequential), stdDev(parallel), ci95(sequential), ci95(parallel),
+                percentile(latencies, 0.50) / 1_000_000.0, percentile(latencies, 0.99) / 1_000_000.0);
+        System.out.printf("Finished. Sequential: %.3f +/- %.3f ms, Parallel: %.3f +/- %.3f ms, Speedup: %.2fx\n",
+                result.sequentialTimeMs, result.sequentialCi95Ms, result.parallelTimeMs, result.parallelCi95Ms,
+                result.calculateSpeedup());
+        return result;
+    }
+
+    private double[] sequentialTrials() {
+        if (sequentialTrialsMs == null) {
+            PathFinder finder = finderFactory.get();
+            warmUp(() -> {
+                for (PathRequest request : requests) finder.findPath(request);
+            });
+            double[] times = new double[trials];
+            for (int trial = 0; trial < trials; trial++) {
+                long start = System.nanoTime();
+                for (PathRequest request : requests) finder.findPath(request);
+                times[trial] = (System.nanoTime() - start) / 1_000_000.0;
+            }
+            sequentialTrialsMs = times;
+        }
+        return sequentialTrialsMs;
+    }
+
+    // Repeats rounds until warmupRounds in a row fail to beat the best time by 5% (the JIT has settled).
+    private void warmUp(Runnable round) {
+        double best = Double.MAX_VALUE;
+        int stableRounds = 0;
+        for (int i = 0; i < MAX_WARMUP_ROUNDS && stableRounds < warmupRounds; i++) {
+            long start = System.nanoTime();
+            round.run();
+            double elapsed = System.nanoTime() - start;
+            stableRounds = elapsed >= best * 0.95 ? stableRounds + 1 : 0;
+            best = Math.min(best, elapsed);
+        }
+    }
+
+    private long runParallel(ExecutorService executor, ThreadLocal<PathFinder> finders, long[] latencies, int offset) {
+        List<Future<Boolean>> futures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            final int index = i;
+            futures.add(executor.submit(() -> {
+                long start = System.nanoTime();
+                boolean found = finders.get().findPath(requests.get(index)).isFound();
+                if (latencies != null) latencies[offset + index] = System.nanoTime() - start;
+                return found;
+            }));
+        }
+        long found = 0;
+        try {
+            for (Future<Boolean> future : futures) {
+                if (future.get()) found++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Benchmark request failed", e.getCause());
+        }
+        return found;
+    }
+
+    static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) sum += v;
+        return values.length == 0 ? 0.0 : sum / values.length;
+    }
+    static double stdDev(double[] values) {
+        if (values.length < 2) return 0.0;
+        double m = mean(values), sum = 0;
+        for (double v : values) sum += (v - m) * (v - m);
+        return Math.sqrt(sum / (values.length - 1));
+    }
+    static double ci95(double[] values) {
+        if (values.length < 2) return 0.0;
+        int df = values.length - 1;
+        double t = df <= T_95.length ? T_95[df - 1] : 1.96;
+        return t * stdDev(values) / Math.sqrt(values.length);
+    }
+    // Nearest-rank percentile of a sorted array.
+    static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    public int getRequestCount() { return requests.size(); }
+    public int getTrials() { return trials; }
+    public int getWarmupRounds() { return warmupRounds; }
+}
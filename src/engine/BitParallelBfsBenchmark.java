@@ -0,0 +1,79 @@
+package engine;
+
+import core.*;
+import algorithm.BitParallelBfs;
+import algorithm.IndexedDijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class BitParallelBfsBenchmark {
+    private static final int REQUEST_COUNT = 256;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        for (GridGenerator.MapType type : new GridGenerator.MapType[]{GridGenerator.MapType.RANDOM, GridGenerator.MapType.CAVES}) {
+            Grid grid = new GridGenerator(PathfindingExperiment.BENCHMARK_SEED).generate(type, size, size, 1,
+                    PathfindingExperiment.OBSTACLE_DENSITY);
+            run(grid, type.toString());
+        }
+    }
+
+    public static void run(Grid grid, String label) {
+        System.out.printf("\n--- Bit-Parallel BFS Benchmark (%s %dx%d, unit weights, %d requests) ---\n",
+                label, grid.getRows(), grid.getCols(), REQUEST_COUNT);
+        List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, REQUEST_COUNT, WorkloadGenerator.RequestDistribution.UNIFORM);
+        PathFinder dijkstra = new IndexedDijkstraPathFinder();
+        long t0 = System.nanoTime();
+        Path[] expected = new Path[requests.size()];
+        for (int i = 0; i < requests.size(); i++) expected[i] = dijkstra.findPath(requests.get(i));
+        double dijkstraMs = (System.nanoTime() - t0) / 1_000_000.0;
+
+        t0 = System.nanoTime();
+        BitParallelBfs bfs = new BitParallelBfs(grid);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) order.add(i);
+        Comparator<PathRequest> locality = BitParallelBfs.startLocality(grid);
+        order.sort((x, y) -> locality.compare(requests.get(x), requests.get(y)));
+        Path[] batched = new Path[requests.size()];
+        for (int from = 0; from < order.size(); from += BitParallelBfs.LANES) {
+            List<Integer> lanes = order.subList(from, Math.min(order.size(), from + BitParallelBfs.LANES));
+            List<PathRequest> batch = new ArrayList<>();
+            for (int index : lanes) batch.add(requests.get(index));
+            List<Path> paths = bfs.findPaths(batch);
+            for (int j = 0; j < paths.size(); j++) batched[lanes.get(j)] = paths.get(j);
+        }
+        double bfsMs = (System.nanoTime() - t0) / 1_000_000.0;
+
+        int mismatches = 0, invalid = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (expected[i].isFound() != batched[i].isFound()
+                    || (expected[i].isFound() && expected[i].getTotalCost() != batched[i].getTotalCost())) {
+                mismatches++;
+            }
+            if (batched[i].isFound() && !isValid(grid, requests.get(i), batched[i])) invalid++;
+        }
+        System.out.printf("Per-request Dijkstra: %.1f ms, bit-parallel BFS: %.1f ms (%.1fx)\n",
+                dijkstraMs, bfsMs, dijkstraMs / bfsMs);
+        System.out.printf("Cost mismatches: %d, invalid paths: %d\n", mismatches, invalid);
+
+        t0 = System.nanoTime();
+        new ParallelPathfindingEngine(2).processRequests(requests);
+        System.out.printf("Engine processRequests (batched): %.1f ms\n", (System.nanoTime() - t0) / 1_000_000.0);
+    }
+
+    private static boolean isValid(Grid grid, PathRequest request, Path path) {
+        List<Cell> cells = path.getCells();
+        if (!cells.get(0).equals(request.getStartCell()) || !cells.get(cells.size() - 1).equals(request.getGoalCell())) {
+            return false;
+        }
+        for (int i = 1; i < cells.size(); i++) {
+            Cell a = cells.get(i - 1), b = cells.get(i);
+            if (!grid.isWalkable(b) || Math.abs(a.getRow() - b.getRow()) + Math.abs(a.getCol() - b.getCol()) != 1) return false;
+        }
+        return cells.size() - 1 == path.getTotalCost();
+    }
+}
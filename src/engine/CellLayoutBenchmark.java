@@ -0,0 +1,84 @@
+package engine;
+
+import core.*;
+import algorithm.IndexedDijkstraPathFinder;
+
+import java.util.SplittableRandom;
+
+/**
+ * Compares row-major, blocked and Morton cell layouts on large maps using primitive weight
+ * arrays only. Hardware cache-miss counters are not visible from Java; the locality columns
+ * report how often a vertical neighbour falls in the same 64-byte line as its cell, and a
+ * single layout can be passed as the third argument to run under
+ * {@code perf stat -e L1-dcache-load-misses,LLC-load-misses}.
+ */
+public class CellLayoutBenchmark {
+    private static final int CACHE_LINE_BYTES = 64;
+    private static final int WARMUP_QUERIES = 2;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        CellLayout[] layouts = args.length > 2 ? new CellLayout[]{CellLayout.valueOf(args[2])} : CellLayout.values();
+        run(size, queries, layouts);
+    }
+
+    public static void run(int size, int queries, CellLayout[] layouts) {
+        System.out.printf("\n--- Cell Layout Benchmark (%dx%d, %d queries) ---\n", size, size, queries);
+        int[] rowMajor = new GridGenerator(PathfindingExperiment.BENCHMARK_SEED).generateWeights(GridGenerator.MapType.RANDOM,
+                size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY);
+        int[][] pairs = randomPairs(rowMajor, size, queries + WARMUP_QUERIES);
+        System.out.println("Layout    | Slots     | Same line (int) | Same line (long) | Avg query (ms) | Checksum");
+        for (CellLayout layout : layouts) {
+            CellIndex index = new CellIndex(layout, size, size);
+            int[] weights = new int[index.getCapacity()];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) weights[index.index(r, c)] = rowMajor[r * size + c];
+            }
+            IndexedDijkstraPathFinder finder = new IndexedDijkstraPathFinder();
+            long checksum = 0;
+            long elapsed = 0;
+            for (int q = 0; q < pairs.length; q++) {
+                int start = index.index(pairs[q][0], pairs[q][1]);
+                int goal = index.index(pairs[q][2], pairs[q][3]);
+                long t0 = System.nanoTime();
+                long cost = finder.shortestCost(index, weights, start, goal);
+                if (q >= WARMUP_QUERIES) {
+                    elapsed += System.nanoTime() - t0;
+                    checksum += cost;
+                }
+            }
+            System.out.printf("%-9s | %9d | %14.1f%% | %15.1f%% | %14.1f | %d\n", layout, index.getCapacity(),
+                    100.0 * verticalLocality(index, Integer.BYTES), 100.0 * verticalLocality(index, Long.BYTES),
+                    elapsed / 1_000_000.0 / queries, checksum);
+        }
+    }
+
+    // Fraction of (cell, cell below) pairs whose slots share a cache line for the given element size.
+    private static double verticalLocality(CellIndex index, int elementBytes) {
+        int perLine = CACHE_LINE_BYTES / elementBytes;
+        long same = 0, total = 0;
+        for (int r = 0; r + 1 < index.getRows(); r++) {
+            for (int c = 0; c < index.getCols(); c++) {
+                if (index.index(r, c) / perLine == index.index(r + 1, c) / perLine) same++;
+                total++;
+            }
+        }
+        return total == 0 ? 0.0 : (double) same / total;
+    }
+
+    private static int[][] randomPairs(int[] weights, int size, int count) {
+        SplittableRandom random = new SplittableRandom(PathfindingExperiment.BENCHMARK_SEED);
+        int[][] pairs = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int from = walkable(weights, random), to = walkable(weights, random);
+            pairs[i] = new int[]{from / size, from % size, to / size, to % size};
+        }
+        return pairs;
+    }
+    private static int walkable(int[] weights, SplittableRandom random) {
+        int slot = random.nextInt(weights.length);
+        while (weights[slot] <= 0) slot = (slot + 1) % weights.length;
+        return slot;
+    }
+}
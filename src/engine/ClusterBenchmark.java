@@ -0,0 +1,104 @@
+package engine;
+
+import core.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+public class ClusterBenchmark {
+    private static final int[] WORKER_COUNTS = {1, 2, 4};
+    private static final int REQUEST_COUNT = 200;
+    private static final int BATCH_SIZE = 10;
+    private static final int THREADS_PER_WORKER = 2;
+    private static final int HANG_TIMEOUT_MS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 120;
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        run(grid);
+    }
+
+    public static void run(Grid grid) throws IOException, InterruptedException {
+        System.out.printf("\n--- Cluster Benchmark (%dx%d, %d requests, batches of %d) ---\n",
+                grid.getRows(), grid.getCols(), REQUEST_COUNT, BATCH_SIZE);
+        List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, REQUEST_COUNT, WorkloadGenerator.RequestDistribution.UNIFORM);
+        java.nio.file.Path mapFile = Files.createTempFile("cluster", ".tiles");
+        try {
+            TiledGrid.write(grid, mapFile, TiledGrid.DEFAULT_TILE_SIZE);
+            long start = System.nanoTime();
+            List<Path> expected = new ParallelPathfindingEngine(THREADS_PER_WORKER).processRequests(requests);
+            double localMs = (System.nanoTime() - start) / 1_000_000.0;
+            System.out.printf("Single JVM (%d threads): %.1f ms, %.1f requests/s\n",
+                    THREADS_PER_WORKER, localMs, REQUEST_COUNT / (localMs / 1000.0));
+
+            System.out.println("Workers | Startup (ms) | Time (ms) | Requests/s | Mismatches");
+            for (int workers : WORKER_COUNTS) {
+                long launch = System.nanoTime();
+                try (ClusterCoordinator coordinator = new ClusterCoordinator(mapFile, workers, THREADS_PER_WORKER, BATCH_SIZE)) {
+                    double startupMs = (System.nanoTime() - launch) / 1_000_000.0;
+                    coordinator.processRequests(requests); // warm up the worker JVMs
+                    start = System.nanoTime();
+                    List<Path> results = coordinator.processRequests(requests);
+                    double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+                    System.out.printf("%7d | %12.1f | %9.1f | %10.1f | %d\n", workers, startupMs, elapsedMs,
+                            REQUEST_COUNT / (elapsedMs / 1000.0), countMismatches(expected, results));
+                }
+            }
+
+            System.out.println("Failure injection: killing worker 0 of 2 mid-run");
+            try (ClusterCoordinator coordinator = new ClusterCoordinator(mapFile, 2, THREADS_PER_WORKER, BATCH_SIZE)) {
+                Thread killer = new Thread(() -> {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    coordinator.killWorker(0);
+                });
+                killer.start();
+                List<Path> results = coordinator.processRequests(requests);
+                killer.join();
+                System.out.printf("Live workers: %d/%d, retried batches: %d, mismatches: %d\n",
+                        coordinator.getLiveWorkerCount(), coordinator.getWorkerCount(), coordinator.getRetryCount(),
+                        countMismatches(expected, results));
+            }
+
+            System.out.printf("Failure injection: freezing worker 0 of 2 mid-run, %d ms batch timeout\n", HANG_TIMEOUT_MS);
+            try (ClusterCoordinator coordinator = new ClusterCoordinator(mapFile, 2, THREADS_PER_WORKER, BATCH_SIZE,
+                    HANG_TIMEOUT_MS)) {
+                Thread freezer = new Thread(() -> {
+                    try {
+                        Thread.sleep(200);
+                        coordinator.hangWorker(0);
+                    } catch (IOException | InterruptedException e) {
+                        System.err.println("  [Cluster] Could not freeze worker 0: " + e);
+                    }
+                });
+                freezer.start();
+                start = System.nanoTime();
+                List<Path> results = coordinator.processRequests(requests);
+                freezer.join();
+                System.out.printf("Finished in %.1f ms; live workers: %d/%d, retried batches: %d, mismatches: %d\n",
+                        (System.nanoTime() - start) / 1_000_000.0, coordinator.getLiveWorkerCount(),
+                        coordinator.getWorkerCount(), coordinator.getRetryCount(), countMismatches(expected, results));
+            }
+        } finally {
+            Files.deleteIfExists(mapFile);
+        }
+    }
+
+    private static int countMismatches(List<Path> expected, List<Path> actual) {
+        int mismatches = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            Path a = expected.get(i), b = actual.get(i);
+            if (a.getStatus() != b.getStatus() || a.getTotalCost() != b.getTotalCost()
+                    || !a.getCells().equals(b.getCells())) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,227 @@
+package engine;
+
+import core.*;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Spreads request batches over local worker JVMs. Every worker memory-maps the same tile file
+ * and runs its own ParallelPathfindingEngine; the coordinator hands out fixed-size batches over
+ * loopback sockets to whichever worker is free and writes results back into request order.
+ * When a worker dies mid-batch, or has not answered within the batch timeout, it is killed and
+ * its batch goes back on the queue for the remaining workers. A batch that fails on
+ * MAX_ATTEMPTS workers fails the whole call rather than coming back as unreachable paths.
+ */
+public class ClusterCoordinator implements AutoCloseable {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int CONNECT_TIMEOUT_MS = 30_000;
+    public static final int DEFAULT_BATCH_TIMEOUT_MS = 120_000;
+
+    private final int batchSize;
+    private final int batchTimeoutMs;
+    private final ServerSocket server;
+    private final List<WorkerHandle> workers = new ArrayList<>();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private final AtomicLong retries = new AtomicLong();
+
+    private static final class WorkerHandle {
+        final int index;
+        final Process process;
+        Socket socket;
+        DataInputStream in;
+        DataOutputStream out;
+        volatile boolean alive = true;
+        WorkerHandle(int index, Process process) {
+            this.index = index;
+            this.process = process;
+        }
+    }
+
+    private static final class Batch {
+        final int id;
+        final int offset;
+        final List<PathRequest> requests;
+        int attempts;
+        Batch(int id, int offset, List<PathRequest> requests) {
+            this.id = id;
+            this.offset = offset;
+            this.requests = requests;
+        }
+    }
+
+    public ClusterCoordinator(java.nio.file.Path mapFile, int workerCount, int threadsPerWorker, int batchSize)
+            throws IOException {
+        this(mapFile, workerCount, threadsPerWorker, batchSize, DEFAULT_BATCH_TIMEOUT_MS);
+    }
+    // batchTimeoutMs bounds how long a worker may take to answer one batch before it is treated as hung.
+    public ClusterCoordinator(java.nio.file.Path mapFile, int workerCount, int threadsPerWorker, int batchSize,
+                              int batchTimeoutMs) throws IOException {
+        if (batchTimeoutMs <= 0) {
+            throw new IllegalArgumentException("Batch timeout must be positive, got " + batchTimeoutMs);
+        }
+        this.batchSize = Math.max(1, batchSize);
+        this.batchTimeoutMs = batchTimeoutMs;
+        this.server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress());
+        server.setSoTimeout(CONNECT_TIMEOUT_MS);
+        String javaBinary = java.nio.file.Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                Process process = new ProcessBuilder(javaBinary, "-cp", System.getProperty("java.class.path"),
+                        ClusterWorker.class.getName(), server.getInetAddress().getHostAddress(),
+                        String.valueOf(server.getLocalPort()), mapFile.toAbsolutePath().toString(),
+                        String.valueOf(threadsPerWorker), String.valueOf(i))
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                workers.add(new WorkerHandle(i, process));
+            }
+            for (int i = 0; i < workerCount; i++) {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                if (in.readInt() != ClusterProtocol.HELLO) {
+                    socket.close();
+                    throw new IOException("Unexpected handshake from " + socket.getRemoteSocketAddress());
+                }
+                WorkerHandle worker = workers.get(in.readInt());
+                socket.setSoTimeout(batchTimeoutMs);
+                worker.socket = socket;
+                worker.in = in;
+                worker.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                liveWorkers.incrementAndGet();
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        System.out.printf("  [Cluster] %d workers connected (%d threads each).\n", workerCount, threadsPerWorker);
+    }
+
+    public List<Path> processRequests(List<PathRequest> requests) {
+        Path[] results = new Path[requests.size()];
+        BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+        for (int offset = 0, id = 0; offset < requests.size(); offset += batchSize, id++) {
+            queue.add(new Batch(id, offset, requests.subList(offset, Math.min(requests.size(), offset + batchSize))));
+        }
+        CountDownLatch remaining = new CountDownLatch(queue.size());
+        AtomicReference<String> abandoned = new AtomicReference<>();
+        ExecutorService dispatchers = Executors.newFixedThreadPool(Math.max(1, workers.size()));
+        try {
+            for (WorkerHandle worker : workers) {
+                if (worker.alive) dispatchers.submit(() -> dispatch(worker, queue, results, remaining, abandoned));
+            }
+            while (!remaining.await(100, TimeUnit.MILLISECONDS)) {
+                if (abandoned.get() != null) break;
+                if (liveWorkers.get() == 0) {
+                    throw new IllegalStateException("All cluster workers failed with " + remaining.getCount()
+                            + " batches outstanding");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cluster results", e);
+        } finally {
+            dispatchers.shutdownNow();
+        }
+        if (abandoned.get() != null) {
+            throw new IllegalStateException(abandoned.get());
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    private void dispatch(WorkerHandle worker, BlockingQueue<Batch> queue, Path[] results, CountDownLatch remaining,
+                          AtomicReference<String> abandoned) {
+        while (remaining.getCount() > 0 && worker.alive && abandoned.get() == null) {
+            Batch batch;
+            try {
+                batch = queue.poll(50, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch == null) continue;
+            try {
+                ClusterProtocol.writeBatch(worker.out, batch.id, batch.requests);
+                worker.out.flush();
+                int batchId = worker.in.readInt();
+                int count = worker.in.readInt();
+                if (batchId != batch.id || count != batch.requests.size()) {
+                    throw new IOException("Worker " + worker.index + " answered batch " + batchId + " with " + count
+                            + " results, expected batch " + batch.id + " with " + batch.requests.size());
+                }
+                for (int i = 0; i < count; i++) {
+                    results[batch.offset + i] = PathCodec.read(worker.in, batch.requests.get(i).getGrid());
+                }
+                remaining.countDown();
+            } catch (IOException e) {
+                // Includes SocketTimeoutException: a worker that hangs is failed like one that died.
+                markFailed(worker, e);
+                if (++batch.attempts < MAX_ATTEMPTS) {
+                    retries.incrementAndGet();
+                    queue.add(batch);
+                } else {
+                    abandoned.compareAndSet(null, "Cluster batch " + batch.id + " (requests " + batch.offset + " to "
+                            + (batch.offset + batch.requests.size() - 1) + ") failed on " + batch.attempts + " workers");
+                }
+            }
+        }
+    }
+
+    private void markFailed(WorkerHandle worker, IOException cause) {
+        if (!worker.alive) return;
+        worker.alive = false;
+        liveWorkers.decrementAndGet();
+        System.err.printf("  [Cluster] Worker %d failed: %s\n", worker.index, cause);
+        try {
+            worker.socket.close();
+        } catch (IOException ignored) {
+        }
+        worker.process.destroyForcibly();
+    }
+
+    // Failure injection for benchmarks: kills the worker process without telling the coordinator.
+    void killWorker(int index) {
+        workers.get(index).process.destroyForcibly();
+    }
+
+    // Failure injection for benchmarks: freezes the worker process (POSIX SIGSTOP) so it stops answering.
+    void hangWorker(int index) throws IOException, InterruptedException {
+        new ProcessBuilder("kill", "-STOP", String.valueOf(workers.get(index).process.pid())).inheritIO().start().waitFor();
+    }
+
+    public int getWorkerCount() { return workers.size(); }
+    public int getLiveWorkerCount() { return liveWorkers.get(); }
+    public long getRetryCount() { return retries.get(); }
+
+    @Override
+    public void close() {
+        for (WorkerHandle worker : workers) {
+            try {
+                if (worker.alive && worker.out != null) {
+                    worker.out.writeInt(ClusterProtocol.SHUTDOWN);
+                    worker.out.flush();
+                }
+                if (!worker.process.waitFor(5, TimeUnit.SECONDS)) worker.process.destroyForcibly();
+                if (worker.socket != null) worker.socket.close();
+            } catch (IOException e) {
+                worker.process.destroyForcibly();
+            } catch (InterruptedException e) {
+                worker.process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            server.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
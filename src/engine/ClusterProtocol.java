@@ -0,0 +1,60 @@
+package engine;
+
+import core.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Wire format between ClusterCoordinator and ClusterWorker: a batch id and count followed by
+// requests as cell coordinates plus limits, answered by the same batch id and PathCodec results.
+final class ClusterProtocol {
+    static final int HELLO = 0x50464E44; // "PFND"
+    static final int SHUTDOWN = -1;
+
+    private ClusterProtocol() {
+    }
+
+    static void writeBatch(DataOutput out, int batchId, List<PathRequest> requests) throws IOException {
+        out.writeInt(batchId);
+        out.writeInt(requests.size());
+        for (PathRequest request : requests) {
+            SearchLimits limits = request.getLimits();
+            out.writeInt(request.getRequestId());
+            out.writeInt(request.getStartCell().getRow());
+            out.writeInt(request.getStartCell().getCol());
+            out.writeInt(request.getGoalCell().getRow());
+            out.writeInt(request.getGoalCell().getCol());
+            out.writeLong(limits.getMaxCost());
+            out.writeLong(limits.getMaxExpandedNodes());
+            // Deadlines travel as remaining time, since nanoTime origins differ between JVMs.
+            out.writeLong(limits.hasDeadline() ? Math.max(0, limits.remainingNanos()) : -1);
+        }
+    }
+
+    static List<PathRequest> readRequests(DataInput in, int count, Grid grid) throws IOException {
+        List<PathRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int requestId = in.readInt();
+            Cell start = grid.getCell(in.readInt(), in.readInt());
+            Cell goal = grid.getCell(in.readInt(), in.readInt());
+            SearchLimits limits = SearchLimits.NONE.withMaxCost(in.readLong()).withMaxExpandedNodes(in.readLong());
+            long remainingNanos = in.readLong();
+            if (remainingNanos >= 0) limits = limits.withTimeout(remainingNanos, TimeUnit.NANOSECONDS);
+            if (start == null || goal == null) {
+                throw new IOException("Request " + requestId + " is outside the worker's map");
+            }
+            requests.add(new PathRequest(requestId, grid, start, goal, limits));
+        }
+        return requests;
+    }
+
+    static void writeResults(DataOutput out, int batchId, List<Path> paths) throws IOException {
+        out.writeInt(batchId);
+        out.writeInt(paths.size());
+        for (Path path : paths) PathCodec.write(path, out);
+    }
+}
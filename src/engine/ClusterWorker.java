@@ -0,0 +1,37 @@
+package engine;
+
+import core.*;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.List;
+
+// Worker JVM: maps the shared grid file, connects back to the coordinator and answers batches
+// with a local ParallelPathfindingEngine until told to shut down.
+public class ClusterWorker {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.err.println("Usage: ClusterWorker <host> <port> <map file> <threads> <worker index>");
+            System.exit(2);
+        }
+        int threads = Integer.parseInt(args[3]);
+        try (MappedGrid grid = MappedGrid.open(Paths.get(args[2]));
+             Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeInt(ClusterProtocol.HELLO);
+            out.writeInt(Integer.parseInt(args[4]));
+            out.flush();
+            ParallelPathfindingEngine engine = new ParallelPathfindingEngine(threads);
+            while (true) {
+                int batchId = in.readInt();
+                if (batchId == ClusterProtocol.SHUTDOWN) break;
+                List<PathRequest> requests = ClusterProtocol.readRequests(in, in.readInt(), grid);
+                ClusterProtocol.writeResults(out, batchId, engine.processRequests(requests));
+                out.flush();
+            }
+        }
+    }
+}
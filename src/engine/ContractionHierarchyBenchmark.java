@@ -0,0 +1,64 @@
+package engine;
+
+import core.*;
+import algorithm.ContractionHierarchy;
+import algorithm.DijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ContractionHierarchyBenchmark {
+    private static final int QUERY_COUNT = 1000;
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : PathfindingExperiment.BENCHMARK_GRID_SIZE;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        run(grid, threads);
+    }
+
+    public static void run(Grid grid, int threads) throws IOException {
+        System.out.printf("\n--- Contraction Hierarchy Benchmark (%dx%d, %d threads) ---\n", grid.getRows(), grid.getCols(), threads);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(grid, threads);
+        System.out.printf("Preprocessing: %d ms, nodes: %d, edges: %d (%d shortcuts)\n",
+                hierarchy.getBuildTimeMs(), hierarchy.getNodeCount(), hierarchy.getEdgeCount(), hierarchy.getShortcutCount());
+
+        java.nio.file.Path file = Files.createTempFile("hierarchy", ".ch");
+        try {
+            hierarchy.save(file);
+            ContractionHierarchy loaded = ContractionHierarchy.load(file, grid);
+            System.out.printf("Persisted: %.2f MB on disk, reload time: %d ms\n",
+                    Files.size(file) / (1024.0 * 1024.0), loaded.getBuildTimeMs());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, QUERY_COUNT, WorkloadGenerator.RequestDistribution.UNIFORM);
+        PathFinder dijkstra = new DijkstraPathFinder();
+        List<Path> expected = new ArrayList<>(QUERY_COUNT);
+        long dijkstraStart = System.nanoTime();
+        for (PathRequest request : requests) {
+            expected.add(dijkstra.findPath(request));
+        }
+        double dijkstraUs = (System.nanoTime() - dijkstraStart) / 1000.0 / QUERY_COUNT;
+
+        int mismatches = 0;
+        long queryStart = System.nanoTime();
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            Path path = hierarchy.findPath(requests.get(i));
+            if (path.isFound() != expected.get(i).isFound()
+                    || path.getTotalCost() != expected.get(i).getTotalCost()) {
+                mismatches++;
+            }
+        }
+        double queryUs = (System.nanoTime() - queryStart) / 1000.0 / QUERY_COUNT;
+        double breakEven = hierarchy.getBuildTimeMs() * 1000.0 / Math.max(1e-9, dijkstraUs - queryUs);
+        System.out.printf("Query latency: Dijkstra %.1f us, CH %.1f us (%.1fx), cost mismatches: %d/%d\n",
+                dijkstraUs, queryUs, dijkstraUs / queryUs, mismatches, QUERY_COUNT);
+        System.out.printf("Preprocessing pays for itself after ~%.0f queries\n", breakEven);
+    }
+}
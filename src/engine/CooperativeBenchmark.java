@@ -0,0 +1,79 @@
+package engine;
+
+import core.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CooperativeBenchmark {
+    private static final int GRID_SIZE = 64;
+    private static final int[] AGENT_COUNTS = {8, 16, 32, 64};
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : GRID_SIZE;
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        run(grid);
+    }
+
+    public static void run(Grid grid) {
+        System.out.printf("\n--- Cooperative Pathfinding Benchmark (%dx%d) ---\n", grid.getRows(), grid.getCols());
+        System.out.println("Agents | Threads | Time (ms) | Agents/s | Solved | Cost overhead | Conflicts");
+        for (int agents : AGENT_COUNTS) {
+            List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED + agents)
+                    .generateRequests(grid, agents, WorkloadGenerator.RequestDistribution.UNIFORM);
+            List<Path> independent = new ParallelPathfindingEngine(1).processRequests(requests);
+            for (int threads : THREAD_COUNTS) {
+                long start = System.nanoTime();
+                List<Path> cooperative = new ParallelPathfindingEngine(threads).processRequestsCooperatively(requests);
+                double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+                double independentCost = 0, cooperativeCost = 0;
+                int solved = 0;
+                for (int i = 0; i < requests.size(); i++) {
+                    if (cooperative.get(i).isFound() && independent.get(i).isFound()) {
+                        solved++;
+                        independentCost += independent.get(i).getTotalCost();
+                        cooperativeCost += cooperative.get(i).getTotalCost();
+                    }
+                }
+                System.out.printf("%6d | %7d | %9.1f | %8.1f | %3d/%-3d | %12.1f%% | %d\n",
+                        agents, threads, elapsedMs, agents / (elapsedMs / 1000.0), solved, agents,
+                        independentCost == 0 ? 0.0 : 100.0 * (cooperativeCost - independentCost) / independentCost,
+                        countConflicts(cooperative, grid.getCols()));
+            }
+        }
+    }
+
+    // Counts vertex and swap conflicts between found routes; agents stay on their goal after arriving.
+    public static int countConflicts(List<Path> paths, int cols) {
+        List<List<Cell>> routes = new ArrayList<>();
+        int horizon = 0;
+        for (Path path : paths) {
+            if (!path.isFound()) continue;
+            routes.add(path.getCells());
+            horizon = Math.max(horizon, path.length());
+        }
+        int conflicts = 0;
+        for (int t = 0; t < horizon; t++) {
+            Map<Integer, Integer> occupied = new HashMap<>();
+            for (int a = 0; a < routes.size(); a++) {
+                List<Cell> route = routes.get(a);
+                Cell cell = route.get(Math.min(t, route.size() - 1));
+                if (occupied.put(cell.getRow() * cols + cell.getCol(), a) != null) conflicts++;
+            }
+            for (int a = 0; a < routes.size(); a++) {
+                List<Cell> pa = routes.get(a);
+                if (t + 1 >= pa.size()) continue;
+                for (int b = a + 1; b < routes.size(); b++) {
+                    List<Cell> pb = routes.get(b);
+                    if (t + 1 >= pb.size()) continue;
+                    if (pa.get(t).equals(pb.get(t + 1)) && pa.get(t + 1).equals(pb.get(t))) conflicts++;
+                }
+            }
+        }
+        return conflicts;
+    }
+}
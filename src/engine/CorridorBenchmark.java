@@ -0,0 +1,72 @@
+package engine;
+
+import core.*;
+import algorithm.CorridorPathFinder;
+import algorithm.DijkstraPathFinder;
+
+import java.util.List;
+
+/**
+ * Runs long queries through the engine with plain Dijkstra, the exact adaptive corridor and
+ * weighted A* at several epsilons, and reports nodes expanded and saved against Dijkstra along
+ * with the worst cost ratio seen. Savings come from a second, untimed pass with the engine's
+ * Dijkstra comparison switched on, so the timed pass does not pay for the extra searches.
+ */
+public class CorridorBenchmark {
+    private static final double[] EPSILONS = {1.0, 1.2, 1.5, 2.0};
+    private static final GridGenerator.MapType[] MAP_TYPES = {GridGenerator.MapType.RANDOM, GridGenerator.MapType.GRADIENT,
+            GridGenerator.MapType.ROOMS};
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int requestCount = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        for (GridGenerator.MapType type : MAP_TYPES) {
+            run(type, size, requestCount, threads);
+        }
+    }
+
+    public static void run(GridGenerator.MapType type, int size, int requestCount, int threads) {
+        System.out.printf("\n--- Corridor / Weighted A* Benchmark (%s %dx%d, %d far requests, %d threads) ---\n",
+                type, size, size, requestCount, threads);
+        Grid grid = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED).generateGrid(type, size, size,
+                PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY);
+        List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, requestCount, WorkloadGenerator.RequestDistribution.FAR);
+
+        ParallelPathfindingEngine baseline = new ParallelPathfindingEngine(threads, new DijkstraPathFinder());
+        long start = System.nanoTime();
+        List<Path> expected = baseline.processRequests(requests);
+        double baselineMs = (System.nanoTime() - start) / 1_000_000.0;
+        long baselineNodes = baseline.getExpandedNodeCount();
+
+        System.out.println("Finder                                 | Time (ms) | Expanded  | Saved   | Widenings | Worst cost ratio | Inexact");
+        System.out.printf("%-38s | %9.1f | %9d | %6.1f%% | %9s | %16.3f | %d\n",
+                new DijkstraPathFinder().getFinderName(), baselineMs, baselineNodes, 0.0, "-", 1.0, 0);
+        for (double epsilon : EPSILONS) {
+            CorridorPathFinder finder = new CorridorPathFinder(epsilon);
+            ParallelPathfindingEngine engine = new ParallelPathfindingEngine(threads, finder);
+            start = System.nanoTime();
+            List<Path> actual = engine.processRequests(requests);
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+            double worstRatio = 1.0;
+            int inexact = 0;
+            for (int i = 0; i < requests.size(); i++) {
+                if (!expected.get(i).isFound() || !actual.get(i).isFound()) {
+                    if (expected.get(i).isFound() != actual.get(i).isFound()) inexact++;
+                    continue;
+                }
+                long optimal = expected.get(i).getCost(), cost = actual.get(i).getCost();
+                if (cost != optimal) inexact++;
+                if (optimal > 0) worstRatio = Math.max(worstRatio, (double) cost / optimal);
+            }
+            ParallelPathfindingEngine compared = new ParallelPathfindingEngine(threads, new CorridorPathFinder(epsilon))
+                    .compareWithDijkstra();
+            compared.processRequests(requests);
+            System.out.printf("%-38s | %9.1f | %9d | %6.1f%% | %9d | %16.3f | %d\n", finder.getFinderName(), elapsedMs,
+                    engine.getExpandedNodeCount(),
+                    100.0 * compared.getNodesSavedVersusDijkstra() / Math.max(1, compared.getDijkstraBaselineNodeCount()),
+                    finder.getWideningCount(), worstRatio, inexact);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package engine;
+
+import core.*;
+import algorithm.*;
+
+import java.util.List;
+
+public class DistanceFieldBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4};
+    private static final int AGENT_COUNT = 200;
+    private static final GridGenerator.MapType[] MAP_TYPES = {
+            GridGenerator.MapType.RANDOM, GridGenerator.MapType.GRADIENT,
+            GridGenerator.MapType.CAVES, GridGenerator.MapType.ROOMS
+    };
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        for (GridGenerator.MapType type : MAP_TYPES) {
+            Grid grid = new GridGenerator(PathfindingExperiment.BENCHMARK_SEED).generate(type, size, size,
+                    PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY);
+            run(grid, type.toString());
+        }
+    }
+
+    public static void run(Grid grid, String label) {
+        System.out.printf("\n--- Distance Field Benchmark (%s %dx%d) ---\n", label, grid.getRows(), grid.getCols());
+        List<PathRequest> agents = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, AGENT_COUNT, WorkloadGenerator.RequestDistribution.UNIFORM);
+        Cell goal = agents.get(0).getGoalCell();
+        DistanceField reference = new DijkstraDistanceFieldSolver().computeField(grid, goal);
+        reference = new DijkstraDistanceFieldSolver().computeField(grid, goal); // second run is warm
+        System.out.printf("%-40s %8.1f ms\n", "Reverse Dijkstra field:", reference.getComputeTimeMs());
+        for (int threads : THREAD_COUNTS) {
+            DistanceFieldSolver solver = new SweepDistanceFieldSolver(threads);
+            solver.computeField(grid, goal);
+            DistanceField field = solver.computeField(grid, goal);
+            int mismatches = 0;
+            for (int r = 0; r < grid.getRows(); r++) {
+                for (int c = 0; c < grid.getCols(); c++) {
+                    if (field.getCost(r, c) != reference.getCost(r, c)) mismatches++;
+                }
+            }
+            System.out.printf("%-40s %8.1f ms, %d iterations, %d mismatches\n",
+                    solver.getSolverName() + ":", field.getComputeTimeMs(), field.getIterations(), mismatches);
+        }
+
+        PathFinder finder = new IndexedDijkstraPathFinder();
+        long searchNanos = 0, followNanos = 0;
+        int costMismatches = 0;
+        for (PathRequest agent : agents) {
+            PathRequest request = new PathRequest(agent.getRequestId(), grid, agent.getStartCell(), goal);
+            long t0 = System.nanoTime();
+            Path searched = finder.findPath(request);
+            long t1 = System.nanoTime();
+            Path followed = reference.pathFrom(agent.getStartCell());
+            followNanos += System.nanoTime() - t1;
+            searchNanos += t1 - t0;
+            if (searched.isFound() != followed.isFound()
+                    || (searched.isFound() && searched.getTotalCost() != followed.getTotalCost())) {
+                costMismatches++;
+            }
+        }
+        System.out.printf("%d agents to one goal: per-agent Dijkstra %.1f ms, field + follow %.1f ms, cost mismatches %d\n",
+                agents.size(), searchNanos / 1_000_000.0,
+                reference.getComputeTimeMs() + followNanos / 1_000_000.0, costMismatches);
+    }
+}
@@ -0,0 +1,71 @@
+package engine;
+
+import core.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times the grid analysis pass on fork/join pools of increasing size, checks every result against
+ * a plain scan of the weight array, and shows the cost of a cached lookup afterwards.
+ */
+public class GridAnalysisBenchmark {
+    private static final int[] POOL_SIZES = {1, 2, 4, 8};
+    private static final int TRIALS = 5;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        run(size);
+    }
+
+    public static void run(int size) {
+        System.out.printf("\n--- Grid Analysis Benchmark (%dx%d, %d trials per pool size) ---\n", size, size, TRIALS);
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        int[] weights = grid.toWeightArray();
+        System.out.println("Pool threads | Mean (ms) | Best (ms) | Speedup | Matches scan");
+        double baselineMs = 0;
+        for (int threads : POOL_SIZES) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                double[] times = new double[TRIALS];
+                boolean matches = true;
+                for (int trial = 0; trial < TRIALS; trial++) {
+                    GridAnalysis analysis = GridAnalysis.compute(grid, pool);
+                    times[trial] = analysis.getComputeTimeMs();
+                    matches &= matchesScan(analysis, weights, size);
+                }
+                double mean = Arrays.stream(times).average().orElse(0);
+                if (threads == 1) baselineMs = mean;
+                System.out.printf("%12d | %9.1f | %9.1f | %6.2fx | %s\n", threads, mean,
+                        Arrays.stream(times).min().orElse(0), baselineMs / mean, matches ? "yes" : "NO");
+            } finally {
+                pool.shutdown();
+            }
+        }
+        GridAnalysis first = GridAnalysis.of(grid);
+        long start = System.nanoTime();
+        GridAnalysis cached = GridAnalysis.of(grid);
+        System.out.printf("Cached lookup: %.3f ms (same instance: %s)\n", (System.nanoTime() - start) / 1e6, first == cached);
+        System.out.println(cached);
+    }
+
+    private static boolean matchesScan(GridAnalysis analysis, int[] weights, int cols) {
+        int min = Integer.MAX_VALUE, max = 0;
+        long obstacles = 0;
+        long[] histogram = new long[GridAnalysis.HISTOGRAM_SIZE];
+        for (int i = 0; i < weights.length; i++) {
+            int w = weights[i];
+            histogram[Math.min(w, GridAnalysis.HISTOGRAM_SIZE - 1)]++;
+            if (analysis.isWalkable(i / cols, i % cols) != (w > 0)) return false;
+            if (w == 0) {
+                obstacles++;
+                continue;
+            }
+            min = Math.min(min, w);
+            max = Math.max(max, w);
+        }
+        return min == analysis.getMinWalkableWeight() && max == analysis.getMaxWalkableWeight()
+                && obstacles == analysis.getObstacleCount() && Arrays.equals(histogram, analysis.getHistogram());
+    }
+}
@@ -0,0 +1,97 @@
+package engine;
+
+import core.*;
+import algorithm.IndexedDijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Streams rounds of requests where most go to a few hot goals through an engine with and without
+ * a {@link HotGoalCache}, checking every cached answer against a search, then compares per-request
+ * latency of a search and a tree walk for the hot goals.
+ */
+public class HotGoalBenchmark {
+    private static final int HOT_GOALS = 4;
+    private static final double HOT_SHARE = 0.8;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int requestsPerRound = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        run(size, rounds, requestsPerRound, threads);
+    }
+
+    public static void run(int size, int rounds, int requestsPerRound, int threads) {
+        System.out.printf("\n--- Hot Goal Tree Cache Benchmark (%dx%d, %d rounds x %d requests, %d hot goals, %d threads) ---\n",
+                size, size, rounds, requestsPerRound, HOT_GOALS, threads);
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        SplittableRandom random = new SplittableRandom(PathfindingExperiment.BENCHMARK_SEED);
+        Cell[] hotGoals = new Cell[HOT_GOALS];
+        for (int g = 0; g < HOT_GOALS; g++) hotGoals[g] = randomWalkable(grid, random);
+
+        PathFinder finder = new IndexedDijkstraPathFinder();
+        ParallelPathfindingEngine plain = new ParallelPathfindingEngine(threads, finder);
+        try (HotGoalCache cache = new HotGoalCache()) {
+            ParallelPathfindingEngine cached = new ParallelPathfindingEngine(threads, finder, cache);
+            double plainMs = 0, cachedMs = 0;
+            int mismatches = 0;
+            System.out.println("Round | Plain (ms) | Cached (ms) | Hit rate so far | Trees");
+            for (int round = 0; round < rounds; round++) {
+                List<PathRequest> requests = new ArrayList<>(requestsPerRound);
+                for (int i = 0; i < requestsPerRound; i++) {
+                    Cell goal = random.nextDouble() < HOT_SHARE ? hotGoals[random.nextInt(HOT_GOALS)] : randomWalkable(grid, random);
+                    requests.add(new PathRequest(round * requestsPerRound + i, grid, randomWalkable(grid, random), goal));
+                }
+                long start = System.nanoTime();
+                List<Path> expected = plain.processRequests(requests);
+                double roundPlainMs = (System.nanoTime() - start) / 1_000_000.0;
+                start = System.nanoTime();
+                List<Path> actual = cached.processRequests(requests);
+                double roundCachedMs = (System.nanoTime() - start) / 1_000_000.0;
+                for (int i = 0; i < requests.size(); i++) {
+                    if (expected.get(i).isFound() != actual.get(i).isFound()
+                            || expected.get(i).getCost() != actual.get(i).getCost()) mismatches++;
+                }
+                plainMs += roundPlainMs;
+                cachedMs += roundCachedMs;
+                System.out.printf("%5d | %10.1f | %11.1f | %14.1f%% | %d\n", round + 1, roundPlainMs, roundCachedMs,
+                        100 * cache.getHitRate(), cache.getCachedTreeCount());
+            }
+            System.out.printf("Total: %.1f ms plain, %.1f ms cached; %d hits of %d lookups, %d trees built in %.1f ms, "
+                            + "%d evicted, %.2f MB cached, %d mismatches\n", plainMs, cachedMs, cache.getHitCount(),
+                    cache.getLookupCount(), cache.getBuildCount(), cache.getBuildTimeMs(), cache.getEvictionCount(),
+                    cache.getCachedBytes() / (1024.0 * 1024.0), mismatches);
+
+            long[] searchNanos = new long[requestsPerRound];
+            long[] walkNanos = new long[requestsPerRound];
+            for (int i = 0; i < requestsPerRound; i++) {
+                PathRequest request = new PathRequest(i, grid, randomWalkable(grid, random), hotGoals[i % HOT_GOALS]);
+                long start = System.nanoTime();
+                finder.findPath(request).getCells();
+                searchNanos[i] = System.nanoTime() - start;
+                start = System.nanoTime();
+                Path walk = cache.lookup(request);
+                if (walk != null) walk.getCells();
+                walkNanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(searchNanos);
+            Arrays.sort(walkNanos);
+            System.out.printf("Hot-goal latency: search p50 %.3f ms / p99 %.3f ms, tree walk p50 %.3f ms / p99 %.3f ms\n",
+                    BenchmarkRunner.percentile(searchNanos, 0.5) / 1e6, BenchmarkRunner.percentile(searchNanos, 0.99) / 1e6,
+                    BenchmarkRunner.percentile(walkNanos, 0.5) / 1e6, BenchmarkRunner.percentile(walkNanos, 0.99) / 1e6);
+        }
+    }
+
+    private static Cell randomWalkable(Grid grid, SplittableRandom random) {
+        while (true) {
+            Cell cell = grid.getCell(random.nextInt(grid.getRows()), random.nextInt(grid.getCols()));
+            if (grid.isWalkable(cell)) return cell;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package engine;
+
+import core.*;
+import algorithm.ShortestPathTree;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how often each goal is requested and, once a goal has been asked for hotThreshold times,
+ * builds its {@link ShortestPathTree} on a background thread. Later requests to that goal are
+ * answered by a tree walk. Trees are kept in least-recently-used order and evicted once their
+ * total size passes maxBytes; an evicted goal has to become hot again before it is rebuilt.
+ */
+public class HotGoalCache implements AutoCloseable {
+    public static final int DEFAULT_HOT_THRESHOLD = 8;
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+    // Counts are dropped wholesale past this many goals, so cold goals on old grids are not held forever.
+    private static final int MAX_TRACKED_GOALS = 1 << 16;
+
+    private final int hotThreshold;
+    private final long maxBytes;
+    private final ConcurrentHashMap<GoalKey, AtomicInteger> goalCounts = new ConcurrentHashMap<>();
+    private final Set<GoalKey> scheduled = ConcurrentHashMap.newKeySet();
+    private final LinkedHashMap<GoalKey, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true); // guarded by itself
+    private long cachedBytes; // guarded by trees
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "hot-goal-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong buildNanos = new AtomicLong();
+
+    public HotGoalCache() {
+        this(DEFAULT_HOT_THRESHOLD, DEFAULT_MAX_BYTES);
+    }
+    public HotGoalCache(int hotThreshold, long maxBytes) {
+        if (hotThreshold <= 0) {
+            throw new IllegalArgumentException("Hot threshold must be positive, got " + hotThreshold);
+        }
+        this.hotThreshold = hotThreshold;
+        this.maxBytes = maxBytes;
+    }
+
+    // Counts the request's goal and answers it from a cached tree if there is one; null means search.
+    public Path lookup(PathRequest request) {
+        lookups.incrementAndGet();
+        GoalKey key = new GoalKey(request.getGrid(), request.getGoalCell());
+        ShortestPathTree tree;
+        synchronized (trees) {
+            tree = trees.get(key);
+        }
+        // The tree never reaches a blocked start, so it answers NOT_FOUND there like the finders do.
+        if (tree != null) {
+            hits.incrementAndGet();
+            return tree.pathFrom(request.getStartCell());
+        }
+        if (goalCounts.size() > MAX_TRACKED_GOALS) goalCounts.clear();
+        int count = goalCounts.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        if (count >= hotThreshold && ShortestPathTree.bytesFor(key.grid) <= maxBytes && scheduled.add(key)) {
+            builder.execute(() -> build(key));
+        }
+        return null;
+    }
+
+    private void build(GoalKey key) {
+        long start = System.nanoTime();
+        ShortestPathTree tree = ShortestPathTree.build(key.grid, key.grid.getCell(key.row, key.col));
+        buildNanos.addAndGet(System.nanoTime() - start);
+        builds.incrementAndGet();
+        synchronized (trees) {
+            trees.put(key, tree);
+            cachedBytes += tree.getSizeBytes();
+            for (Iterator<Map.Entry<GoalKey, ShortestPathTree>> it = trees.entrySet().iterator();
+                 cachedBytes > maxBytes && it.hasNext(); ) {
+                Map.Entry<GoalKey, ShortestPathTree> eldest = it.next();
+                it.remove();
+                cachedBytes -= eldest.getValue().getSizeBytes();
+                goalCounts.remove(eldest.getKey());
+                scheduled.remove(eldest.getKey());
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        builder.shutdownNow();
+    }
+
+    public long getLookupCount() { return lookups.get(); }
+    public long getHitCount() { return hits.get(); }
+    public double getHitRate() { return lookups.get() == 0 ? 0.0 : (double) hits.get() / lookups.get(); }
+    public long getBuildCount() { return builds.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    public double getBuildTimeMs() { return buildNanos.get() / 1_000_000.0; }
+    public int getCachedTreeCount() {
+        synchronized (trees) {
+            return trees.size();
+        }
+    }
+    public long getCachedBytes() {
+        synchronized (trees) {
+            return cachedBytes;
+        }
+    }
+
+    // A goal cell on a particular grid instance.
+    private static final class GoalKey {
+        final Grid grid;
+        final int row, col;
+        GoalKey(Grid grid, Cell goal) {
+            this.grid = grid;
+            this.row = goal.getRow();
+            this.col = goal.getCol();
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof GoalKey)) return false;
+            GoalKey other = (GoalKey) obj;
+            return grid == other.grid && row == other.row && col == other.col;
+        }
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(grid) * 31 + Objects.hash(row, col);
+        }
+    }
+}
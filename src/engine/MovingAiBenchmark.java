@@ -0,0 +1,156 @@
+package engine;
+
+import core.*;
+import algorithm.IndexedDijkstraPathFinder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Loads a Moving AI map and scenario, runs every scenario request through the engine and checks
+ * the results against the published octile lengths. Parse speed of the byte-level loader is
+ * compared with a line-by-line String parse, and the weighted text format is round-tripped.
+ * Without arguments a rooms map and a scenario with octile lengths computed here are written to
+ * a temporary directory first, since the benchmark sets are not shipped with the project.
+ */
+public class MovingAiBenchmark {
+    private static final int GENERATED_SIZE = 512;
+    private static final int GENERATED_REQUESTS = 200;
+    private static final int PARSE_TRIALS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int threads = args.length == 1 || args.length == 3 ? Integer.parseInt(args[args.length - 1]) : 4;
+        if (args.length >= 2) {
+            run(java.nio.file.Paths.get(args[0]), java.nio.file.Paths.get(args[1]), threads);
+            return;
+        }
+        java.nio.file.Path dir = Files.createTempDirectory("movingai");
+        try {
+            java.nio.file.Path map = dir.resolve("rooms.map"), scen = dir.resolve("rooms.map.scen");
+            generate(map, scen);
+            run(map, scen, threads);
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (java.nio.file.Path file : (Iterable<java.nio.file.Path>) files::iterator) Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    public static void run(java.nio.file.Path mapFile, java.nio.file.Path scenFile, int threads) throws IOException {
+        System.out.printf("\n--- Moving AI Benchmark (%s, %d threads) ---\n", mapFile.getFileName(), threads);
+        double mb = Files.size(mapFile) / (1024.0 * 1024.0);
+        Grid grid = null;
+        double fastMs = Double.MAX_VALUE, lineMs = Double.MAX_VALUE;
+        for (int trial = 0; trial < PARSE_TRIALS; trial++) {
+            long start = System.nanoTime();
+            grid = GridFormats.readMovingAiMap(mapFile);
+            fastMs = Math.min(fastMs, (System.nanoTime() - start) / 1e6);
+            start = System.nanoTime();
+            readMapByLines(mapFile);
+            lineMs = Math.min(lineMs, (System.nanoTime() - start) / 1e6);
+        }
+        System.out.printf("Map %dx%d, %.2f MB: byte parser %.1f ms (%.0f MB/s), line parser %.1f ms (%.0f MB/s)\n",
+                grid.getRows(), grid.getCols(), mb, fastMs, mb / (fastMs / 1000), lineMs, mb / (lineMs / 1000));
+
+        java.nio.file.Path text = Files.createTempFile("grid", ".txt");
+        try {
+            GridFormats.writeWeightedText(grid, text);
+            long start = System.nanoTime();
+            Grid reloaded = GridFormats.readWeightedText(text);
+            double textMs = (System.nanoTime() - start) / 1e6;
+            System.out.printf("Weighted text round trip: %.2f MB in %.1f ms, identical: %s\n",
+                    Files.size(text) / (1024.0 * 1024.0), textMs,
+                    Arrays.equals(grid.toWeightArray(), reloaded.toWeightArray()) ? "yes" : "NO");
+        } finally {
+            Files.deleteIfExists(text);
+        }
+
+        long start = System.nanoTime();
+        Scenario scenario = Scenario.read(scenFile, grid);
+        System.out.printf("Scenario %s: %d requests parsed in %.1f ms\n", scenario.getMapName(), scenario.size(),
+                (System.nanoTime() - start) / 1e6);
+        ParallelPathfindingEngine engine = new ParallelPathfindingEngine(threads, new IndexedDijkstraPathFinder());
+        start = System.nanoTime();
+        List<Path> paths = engine.processRequests(scenario.getRequests());
+        double elapsedMs = (System.nanoTime() - start) / 1e6;
+        int consistent = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            if (scenario.isConsistent(i, paths.get(i))) consistent++;
+        }
+        System.out.printf("Solved in %.1f ms (%.0f requests/s); %d of %d within the octile bounds\n",
+                elapsedMs, paths.size() / (elapsedMs / 1000), consistent, paths.size());
+    }
+
+    // The obvious parse, for comparison: decode every line into a String and look at its chars.
+    private static int[] readMapByLines(java.nio.file.Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+        int rows = Integer.parseInt(lines.get(1).split("\\s+")[1]);
+        int cols = Integer.parseInt(lines.get(2).split("\\s+")[1]);
+        int[] weights = new int[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            String line = lines.get(4 + r);
+            for (int c = 0; c < cols; c++) {
+                char terrain = line.charAt(c);
+                weights[r * cols + c] = terrain == '.' || terrain == 'G' || terrain == 'S' ? 1 : 0;
+            }
+        }
+        return weights;
+    }
+
+    private static void generate(java.nio.file.Path map, java.nio.file.Path scen) throws IOException {
+        WorkloadGenerator generator = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED);
+        Grid grid = generator.generateGrid(GridGenerator.MapType.ROOMS, GENERATED_SIZE, GENERATED_SIZE, 1,
+                PathfindingExperiment.OBSTACLE_DENSITY);
+        GridFormats.writeMovingAiMap(grid, map);
+        List<PathRequest> requests = new ArrayList<>();
+        List<Double> lengths = new ArrayList<>();
+        for (PathRequest request : generator.generateRequests(grid, GENERATED_REQUESTS * 2,
+                WorkloadGenerator.RequestDistribution.UNIFORM)) {
+            double length = octileLength(grid, request.getStartCell(), request.getGoalCell());
+            if (Double.isInfinite(length) || requests.size() == GENERATED_REQUESTS) continue;
+            requests.add(request);
+            lengths.add(length);
+        }
+        Scenario.write(scen, map.getFileName().toString(), requests, lengths.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    // Moving AI's metric: 8-connected, diagonals cost sqrt 2 and may not cut a blocked corner.
+    private static double octileLength(Grid grid, Cell start, Cell goal) {
+        int rows = grid.getRows(), cols = grid.getCols();
+        int[] weights = grid.toWeightArray();
+        double[] dist = new double[weights.length];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        int source = start.getRow() * cols + start.getCol(), target = goal.getRow() * cols + goal.getCol();
+        if (weights[source] == 0 || weights[target] == 0) return Double.POSITIVE_INFINITY;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        dist[source] = 0;
+        queue.add(new double[]{0, source});
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int u = (int) top[1];
+            if (top[0] > dist[u]) continue;
+            if (u == target) return dist[u];
+            int r = u / cols, c = u % cols;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = r + dr, nc = c + dc;
+                    if ((dr == 0 && dc == 0) || nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                    if (weights[nr * cols + nc] == 0) continue;
+                    if (dr != 0 && dc != 0 && (weights[r * cols + nc] == 0 || weights[nr * cols + c] == 0)) continue;
+                    double alt = dist[u] + (dr != 0 && dc != 0 ? Math.sqrt(2) : 1);
+                    if (alt < dist[nr * cols + nc]) {
+                        dist[nr * cols + nc] = alt;
+                        queue.add(new double[]{alt, nr * cols + nc});
+                    }
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,164 @@
+package engine;
+
+import core.*;
+import algorithm.DijkstraPathFinder;
+import algorithm.LongMinHeap;
+import algorithm.PathFinder;
+import algorithm.SearchBudget;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares neighbour iteration through getNeighbors (a fresh list per call) with the padded,
+ * allocation-free forEachNeighbor and neighbors(cell, out), first as a raw sweep over every cell
+ * and then inside Dijkstra, where the list-based loop is kept here as the reference that the
+ * current finder's costs and expansion counts must match exactly.
+ */
+public class NeighborIterationBenchmark {
+    private static final int SWEEPS = 5;
+    private static final int SEARCHES = 6;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        run(size);
+    }
+
+    public static void run(int size) {
+        System.out.printf("\n--- Neighbor Iteration Benchmark (%dx%d) ---\n", size, size);
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long cells = (long) size * size * SWEEPS;
+        System.out.println("Sweep                 | Mcells/s | Bytes/cell | Checksum");
+
+        long checksum = 0;
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int sweep = 0; sweep < SWEEPS; sweep++) {
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    for (Cell neighbor : grid.getNeighbors(grid.getCell(r, c))) checksum += neighbor.getWeight();
+                }
+            }
+        }
+        report("getNeighbors", cells, System.nanoTime() - start, threads.getCurrentThreadAllocatedBytes() - allocated, checksum);
+
+        WeightSum sum = new WeightSum();
+        allocated = threads.getCurrentThreadAllocatedBytes();
+        start = System.nanoTime();
+        for (int sweep = 0; sweep < SWEEPS; sweep++) {
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) grid.forEachNeighbor(grid.getCell(r, c), sum);
+            }
+        }
+        report("forEachNeighbor", cells, System.nanoTime() - start, threads.getCurrentThreadAllocatedBytes() - allocated, sum.total);
+
+        Cell[] out = new Cell[4];
+        checksum = 0;
+        allocated = threads.getCurrentThreadAllocatedBytes();
+        start = System.nanoTime();
+        for (int sweep = 0; sweep < SWEEPS; sweep++) {
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    int count = grid.neighbors(grid.getCell(r, c), out);
+                    for (int n = 0; n < count; n++) checksum += out[n].getWeight();
+                }
+            }
+        }
+        report("neighbors(cell, out)", cells, System.nanoTime() - start, threads.getCurrentThreadAllocatedBytes() - allocated, checksum);
+
+        List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, SEARCHES, WorkloadGenerator.RequestDistribution.FAR);
+        PathFinder finder = new DijkstraPathFinder();
+        long listNanos = 0, visitorNanos = 0, expanded = 0;
+        int mismatches = 0;
+        listDijkstra(requests.get(0)); // warm both loops up before timing
+        finder.findPath(requests.get(0));
+        for (int i = 0; i < requests.size(); i++) {
+            PathRequest request = requests.get(i);
+            // Alternate which loop runs first so neither always inherits the other's garbage.
+            long[] reference = null;
+            Path path = null;
+            for (int turn = 0; turn < 2; turn++) {
+                start = System.nanoTime();
+                if ((turn + i) % 2 == 0) {
+                    reference = listDijkstra(request);
+                    listNanos += System.nanoTime() - start;
+                } else {
+                    path = finder.findPath(request);
+                    visitorNanos += System.nanoTime() - start;
+                }
+            }
+            expanded += path.getExpandedNodes();
+            if ((path.isFound() ? path.getCost() : -1) != reference[0] || path.getExpandedNodes() != reference[1]) mismatches++;
+        }
+        System.out.printf("Dijkstra, %d far searches: list-based %.0f nodes/ms, visitor %.0f nodes/ms (%.2fx), %d mismatches\n",
+                SEARCHES, expanded / (listNanos / 1e6), expanded / (visitorNanos / 1e6),
+                (double) listNanos / visitorNanos, mismatches);
+    }
+
+    private static final class WeightSum implements NeighborVisitor {
+        long total;
+        @Override
+        public void visit(Cell neighbor) {
+            total += neighbor.getWeight();
+        }
+    }
+
+    private static void report(String label, long cells, long nanos, long bytes, long checksum) {
+        System.out.printf("%-21s | %8.1f | %10.1f | %d\n", label, cells / (nanos / 1e3) , (double) bytes / cells, checksum);
+    }
+
+    // DijkstraPathFinder as it was with getNeighbors; returns {cost or -1, expanded nodes}.
+    private static long[] listDijkstra(PathRequest request) {
+        Grid grid = request.getGrid();
+        Cell start = request.getStartCell(), goal = request.getGoalCell();
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        int cols = grid.getCols();
+        Map<Cell, Long> dist = new HashMap<>();
+        Map<Cell, Cell> prev = new HashMap<>();
+        Set<Cell> visited = new HashSet<>();
+        LongMinHeap pq = new LongMinHeap(256);
+        pq.clear(grid.getRows() * cols);
+        Cell closest = start;
+        int closestDistance = manhattan(start, goal);
+        dist.put(start, 0L);
+        pq.push(0, start.getRow() * cols + start.getCol());
+        while (!pq.isEmpty()) {
+            int slot = pq.pop();
+            Cell u = grid.getCell(slot / cols, slot % cols);
+            long uDist = pq.poppedCost();
+            if (visited.contains(u) || uDist > dist.get(u)) continue;
+            budget.onExpand(uDist);
+            visited.add(u);
+            if (u.equals(goal)) break;
+            int distanceToGoal = manhattan(u, goal);
+            if (distanceToGoal < closestDistance) {
+                closest = u;
+                closestDistance = distanceToGoal;
+            }
+            for (Cell v : grid.getNeighbors(u)) {
+                if (visited.contains(v)) continue;
+                long alt = uDist + v.getWeight();
+                if (alt < dist.getOrDefault(v, Cell.UNREACHED)) {
+                    dist.put(v, alt);
+                    prev.put(v, u);
+                    pq.push(alt, v.getRow() * cols + v.getCol());
+                }
+            }
+        }
+        if (!dist.containsKey(goal)) {
+            return new long[]{-1, budget.getExpandedNodes()};
+        }
+        Path path = CompactPath.fromPredecessors(grid, prev, start, goal, dist.get(goal), budget.getExpandedNodes());
+        return new long[]{path.getCost(), path.getExpandedNodes()};
+    }
+    private static int manhattan(Cell a, Cell b) {
+        return Math.abs(a.getRow() - b.getRow()) + Math.abs(a.getCol() - b.getCol());
+    }
+}
@@ -0,0 +1,128 @@
+package engine;
+
+import core.*;
+import algorithm.DijkstraPathFinder;
+import algorithm.IndexedDijkstraPathFinder;
+import algorithm.OffHeapDijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares the heap {@code Cell[][]} grid against {@link OffHeapGrid} with off-heap search
+ * buffers: heap retained by the grid, throughput, worst request latency, and the number and
+ * total duration of collections while the workload runs. Run with a fixed heap (e.g.
+ * {@code -Xmx1g}) and {@code -Xlog:gc} to see individual pauses.
+ */
+public class OffHeapGridBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        int requestCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        run(size, requestCount, threads);
+    }
+
+    public static void run(int size, int requestCount, int threads) throws Exception {
+        System.out.printf("\n--- Off-Heap Grid Benchmark (%dx%d, %d requests, %d threads) ---\n",
+                size, size, requestCount, threads);
+        int[] weights = new GridGenerator(PathfindingExperiment.BENCHMARK_SEED).generateWeights(GridGenerator.MapType.RANDOM,
+                size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY);
+        long before = usedHeapAfterGc();
+        Grid heapGrid = new Grid(size, size, weights);
+        long heapGridBytes = usedHeapAfterGc() - before;
+        before = usedHeapAfterGc();
+        OffHeapGrid offHeapGrid = new OffHeapGrid(size, size, weights);
+        long offHeapGridBytes = usedHeapAfterGc() - before;
+        System.out.printf("Grid on heap: Cell[][] %.1f MB, OffHeapGrid %.1f MB (+%.1f MB off-heap)\n",
+                heapGridBytes / (1024.0 * 1024.0), Math.max(0, offHeapGridBytes) / (1024.0 * 1024.0),
+                offHeapGrid.getOffHeapBytes() / (1024.0 * 1024.0));
+
+        List<PathRequest> heapRequests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(heapGrid, requestCount, WorkloadGenerator.RequestDistribution.UNIFORM);
+        List<PathRequest> offHeapRequests = new ArrayList<>(heapRequests.size());
+        for (PathRequest request : heapRequests) {
+            Cell start = request.getStartCell(), goal = request.getGoalCell();
+            offHeapRequests.add(new PathRequest(request.getRequestId(), offHeapGrid,
+                    offHeapGrid.getCell(start.getRow(), start.getCol()), offHeapGrid.getCell(goal.getRow(), goal.getCol())));
+        }
+
+        System.out.println("Backend                    | Time (ms) | Req/s   | Worst req (ms) | GCs | GC time (ms) | Checksum");
+        double[] reference = measure("Cell[][] + Dijkstra", new DijkstraPathFinder(), heapRequests, threads, null);
+        measure("Cell[][] + indexed arrays", new IndexedDijkstraPathFinder(), heapRequests, threads, reference);
+        measure("Off-heap grid + buffers", new OffHeapDijkstraPathFinder(), offHeapRequests, threads, reference);
+    }
+
+    private static double[] measure(String label, PathFinder finder, List<PathRequest> requests, int threads,
+                                    double[] reference) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) solveAll(executor, finder, requests);
+            long gcCountBefore = gcCount(), gcTimeBefore = gcTimeMs();
+            long start = System.nanoTime();
+            Object[] outcome = solveAll(executor, finder, requests);
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+            long gcs = gcCount() - gcCountBefore, gcMs = gcTimeMs() - gcTimeBefore;
+            double[] costs = (double[]) outcome[0];
+            double worstMs = (double) outcome[1];
+            double checksum = Arrays.stream(costs).sum();
+            int mismatches = 0;
+            if (reference != null) {
+                for (int i = 0; i < costs.length; i++) {
+                    if (costs[i] != reference[i]) mismatches++;
+                }
+            }
+            System.out.printf("%-26s | %9.1f | %7.1f | %14.2f | %3d | %12d | %.0f%s\n", label, elapsedMs,
+                    requests.size() / (elapsedMs / 1000.0), worstMs, gcs, gcMs, checksum,
+                    reference == null ? "" : String.format(" (%d mismatches)", mismatches));
+            return costs;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Returns the per-request costs (-1 when unreachable) and the slowest single request in ms.
+    private static Object[] solveAll(ExecutorService executor, PathFinder finder, List<PathRequest> requests)
+            throws Exception {
+        List<Future<double[]>> futures = new ArrayList<>(requests.size());
+        for (PathRequest request : requests) {
+            futures.add(executor.submit(() -> {
+                long t0 = System.nanoTime();
+                Path path = finder.findPath(request);
+                return new double[]{path.isFound() ? path.getTotalCost() : -1, (System.nanoTime() - t0) / 1_000_000.0};
+            }));
+        }
+        double[] costs = new double[requests.size()];
+        double worst = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            double[] result = futures.get(i).get();
+            costs[i] = result[0];
+            worst = Math.max(worst, result[1]);
+        }
+        return new Object[]{costs, worst};
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) total += Math.max(0, gc.getCollectionCount());
+        return total;
+    }
+    private static long gcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) total += Math.max(0, gc.getCollectionTime());
+        return total;
+    }
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
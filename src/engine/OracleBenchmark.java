@@ -0,0 +1,62 @@
+package engine;
+
+import core.*;
+import algorithm.CompressedPathDatabase;
+import algorithm.DijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OracleBenchmark {
+    private static final int QUERY_COUNT = 2000;
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : PathfindingExperiment.BENCHMARK_GRID_SIZE;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        run(grid, threads);
+    }
+
+    public static void run(Grid grid, int threads) throws IOException {
+        System.out.printf("\n--- Distance Oracle Benchmark (%dx%d, %d threads) ---\n", grid.getRows(), grid.getCols(), threads);
+        CompressedPathDatabase oracle = CompressedPathDatabase.build(grid, threads);
+        System.out.printf("Build time: %d ms, runs: %d, memory: %.2f MB\n",
+                oracle.getBuildTimeMs(), oracle.getRunCount(), oracle.getMemoryFootprintBytes() / (1024.0 * 1024.0));
+
+        java.nio.file.Path file = Files.createTempFile("oracle", ".cpd");
+        try {
+            oracle.save(file);
+            CompressedPathDatabase loaded = CompressedPathDatabase.load(file, grid);
+            System.out.printf("Persisted: %.2f MB on disk, reload time: %d ms\n",
+                    Files.size(file) / (1024.0 * 1024.0), loaded.getBuildTimeMs());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, QUERY_COUNT, WorkloadGenerator.RequestDistribution.UNIFORM);
+        PathFinder dijkstra = new DijkstraPathFinder();
+        List<Path> expected = new ArrayList<>(QUERY_COUNT);
+        long dijkstraStart = System.nanoTime();
+        for (PathRequest request : requests) {
+            expected.add(dijkstra.findPath(request));
+        }
+        double dijkstraUs = (System.nanoTime() - dijkstraStart) / 1000.0 / QUERY_COUNT;
+
+        int mismatches = 0;
+        long oracleStart = System.nanoTime();
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            Path path = oracle.findPath(requests.get(i));
+            if (path.isFound() != expected.get(i).isFound()
+                    || path.getTotalCost() != expected.get(i).getTotalCost()) {
+                mismatches++;
+            }
+        }
+        double oracleUs = (System.nanoTime() - oracleStart) / 1000.0 / QUERY_COUNT;
+        System.out.printf("Query latency: Dijkstra %.1f us, Oracle %.1f us (%.1fx), cost mismatches: %d/%d\n",
+                dijkstraUs, oracleUs, dijkstraUs / oracleUs, mismatches, QUERY_COUNT);
+    }
+}
@@ -2,27 +2,117 @@ package engine;
 
 import core.*;
 import algorithm.PathFinder;
+import algorithm.BitParallelBfs;
+import algorithm.CooperativePathFinder;
 import algorithm.DijkstraPathFinder;
+import algorithm.IndexedDijkstraPathFinder;
+import algorithm.ReservationTable;
+import algorithm.SearchBudget;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ParallelPathfindingEngine {
+    private static final int MIN_BFS_BATCH = 8;
     private final int threadPoolSize;
+    private final PathFinder finder;
+    private final boolean bitParallelBatching;
+    private final boolean coalescing;
+    private final HotGoalCache goalCache;
+    // Unbounded requests currently being computed by any call on this engine, shared by identical callers.
+    private final ConcurrentHashMap<RequestKey, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong computedRequests = new AtomicLong();
+    private final AtomicLong duplicateRequests = new AtomicLong();
+    private final AtomicLong reversedRequests = new AtomicLong();
+    private final AtomicLong inFlightShares = new AtomicLong();
+    private final AtomicLong expandedNodes = new AtomicLong();
+    // Set by compareWithDijkstra: searches run by the finder are repeated with Dijkstra to count the nodes saved.
+    private volatile DijkstraPathFinder dijkstraBaseline;
+    private final AtomicLong comparedNodes = new AtomicLong();
+    private final AtomicLong baselineNodes = new AtomicLong();
     public ParallelPathfindingEngine(int threadPoolSize) {
+        this(threadPoolSize, new DijkstraPathFinder());
+    }
+    public ParallelPathfindingEngine(int threadPoolSize, PathFinder finder) {
+        this(threadPoolSize, finder, null);
+    }
+    // goalCache, when given, answers unbounded requests to hot goals from cached shortest-path trees.
+    public ParallelPathfindingEngine(int threadPoolSize, PathFinder finder, HotGoalCache goalCache) {
         this.threadPoolSize = threadPoolSize;
+        this.finder = finder;
+        this.goalCache = goalCache;
+        // Only exact single-request finders may be replaced: BFS gives the same costs on unit weights.
+        this.bitParallelBatching = finder instanceof DijkstraPathFinder || finder instanceof IndexedDijkstraPathFinder;
+        // Cooperative routes depend on what other agents reserved, so identical requests are not interchangeable.
+        this.coalescing = !(finder instanceof CooperativePathFinder);
     }
     public List<Path> processRequests(List<PathRequest> requests) {
         return processRequestsWithVisualization(requests, null);
     }
 
+    // Plans all requests as agents sharing one reservation table, so the returned routes never collide.
+    public List<Path> processRequestsCooperatively(List<PathRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Grid grid = requests.get(0).getGrid();
+        ReservationTable table = new ReservationTable(grid.getRows() * grid.getCols());
+        for (PathRequest request : requests) {
+            table.reserveStart(request.getRequestId(),
+                    request.getStartCell().getRow() * grid.getCols() + request.getStartCell().getCol());
+        }
+        CooperativePathFinder cooperativeFinder = new CooperativePathFinder(table);
+        List<Path> results = new ParallelPathfindingEngine(threadPoolSize, cooperativeFinder).processRequests(requests);
+        System.out.printf("  [Engine] Cooperative planning: %d commits, %d replans after conflicts.\n",
+                cooperativeFinder.getCommitCount(), cooperativeFinder.getReplanCount());
+        return results;
+    }
+
     public List<Path> processRequestsWithVisualization(List<PathRequest> requests, VisualizationCallback callback) {
         ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
-        List<Future<PathResult>> futures = new ArrayList<>();
+        Map<Integer, Future<PathResult>> futures = new LinkedHashMap<>();
         Map<Integer, Path> results = new ConcurrentHashMap<>();
         System.out.printf("  [Engine] Starting parallel processing with %d threads for %d requests...\n",
                 threadPoolSize, requests.size());
 
+        // source[i] is the request whose result i reuses (i itself when i is computed here).
+        int[] source = new int[requests.size()];
+        boolean[] reversed = new boolean[requests.size()];
+        Map<Integer, CompletableFuture<Path>> shared = new HashMap<>();
+        Map<Integer, CompletableFuture<Path>> owned = new HashMap<>();
+        Map<RequestKey, CompletableFuture<Path>> ownedKeys = new HashMap<>();
+        coalesce(requests, callback == null && coalescing, source, reversed, shared, owned, ownedKeys);
+
+        List<Integer> pending = new ArrayList<>();
         for (int i = 0; i < requests.size(); i++) {
+            if (source[i] == i && !shared.containsKey(i)) pending.add(i);
+        }
+        if (goalCache != null && callback == null && coalescing) {
+            answerFromGoalTrees(requests, pending, results);
+        }
+        computedRequests.addAndGet(pending.size());
+        List<List<Integer>> batches = callback == null && bitParallelBatching
+                ? bitParallelBatches(requests, pending) : List.of();
+        List<Future<List<PathResult>>> batchFutures = new ArrayList<>();
+        Set<Integer> batched = new HashSet<>();
+        for (List<Integer> batch : batches) {
+            batched.addAll(batch);
+            batchFutures.add(executor.submit(() -> {
+                List<PathRequest> batchRequests = new ArrayList<>(batch.size());
+                for (int index : batch) batchRequests.add(requests.get(index));
+                List<Path> paths = new BitParallelBfs(batchRequests.get(0).getGrid()).findPaths(batchRequests);
+                List<PathResult> batchResults = new ArrayList<>(batch.size());
+                for (int j = 0; j < batch.size(); j++) batchResults.add(new PathResult(batch.get(j), paths.get(j)));
+                return batchResults;
+            }));
+        }
+        if (!batches.isEmpty()) {
+            System.out.printf("  [Engine] %d unit-weight requests run as %d bit-parallel BFS batches.\n",
+                    batched.size(), batches.size());
+        }
+
+        for (int i : pending) {
+            if (batched.contains(i)) continue;
             final int pathIndex = i;
             final PathRequest request = requests.get(i);
             Future<PathResult> future = executor.submit(() -> {
@@ -30,19 +120,46 @@ public class ParallelPathfindingEngine {
                     Path path = findPathWithVisualization(request, pathIndex, callback);
                     return new PathResult(pathIndex, path);
                 } else {
-                    PathFinder finder = new DijkstraPathFinder();
                     Path path = finder.findPath(request);
+                    DijkstraPathFinder baseline = dijkstraBaseline;
+                    // Bounded requests are left out: the extra search would eat into their deadline.
+                    if (baseline != null && request.getLimits().isUnbounded()) {
+                        comparedNodes.addAndGet(path.getExpandedNodes());
+                        baselineNodes.addAndGet(baseline.findPath(request).getExpandedNodes());
+                    }
                     return new PathResult(pathIndex, path);
                 }
             });
 
-            futures.add(future);
+            futures.put(i, future);
         }
 
-        for (Future<PathResult> future : futures) {
+        for (Future<List<PathResult>> batchFuture : batchFutures) {
             try {
-                PathResult result = future.get();
+                for (PathResult result : batchFuture.get()) results.put(result.index, result.path);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("  [Engine] Task interrupted: " + e.getMessage());
+            } catch (Exception e) {
+                System.err.println("  [Engine] Error during batched pathfinding: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        for (Map.Entry<Integer, Future<PathResult>> entry : futures.entrySet()) {
+            int i = entry.getKey();
+            Future<PathResult> future = entry.getValue();
+            SearchLimits limits = requests.get(i).getLimits();
+            try {
+                PathResult result = limits.hasDeadline()
+                        ? future.get(Math.max(0, limits.remainingNanos()), TimeUnit.NANOSECONDS)
+                        : future.get();
                 results.put(result.index, result.path);
+            } catch (TimeoutException e) {
+                // Interrupts the worker; the finder notices at its next cooperative check.
+                future.cancel(true);
+                results.put(i, Path.limitReached(Path.Status.TIMED_OUT, List.of(), 0, 0));
+            } catch (CancellationException e) {
+                results.put(i, Path.limitReached(Path.Status.CANCELLED, List.of(), 0, 0));
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 System.err.println("  [Engine] Task interrupted: " + e.getMessage());
@@ -62,30 +179,178 @@ public class ParallelPathfindingEngine {
             executor.shutdownNow();
             Thread.currentThread().interrupt();
         }
+        for (Map.Entry<Integer, CompletableFuture<Path>> entry : owned.entrySet()) {
+            entry.getValue().complete(results.getOrDefault(entry.getKey(), Path.notFound()));
+        }
+        ownedKeys.forEach(inFlight::remove);
+        for (Map.Entry<Integer, CompletableFuture<Path>> entry : shared.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("  [Engine] Task interrupted: " + e.getMessage());
+            } catch (ExecutionException e) {
+                System.err.println("  [Engine] Error in shared in-flight request: " + e.getMessage());
+            }
+        }
 
         List<Path> orderedResults = new ArrayList<>();
+        long expanded = 0;
         for (int i = 0; i < requests.size(); i++) {
-            orderedResults.add(results.getOrDefault(i, Path.notFound()));
+            Path path = results.getOrDefault(source[i], Path.notFound());
+            if (source[i] == i && !shared.containsKey(i)) expanded += path.getExpandedNodes();
+            orderedResults.add(reversed[i] ? reverse(path, requests.get(source[i])) : path);
+        }
+        expandedNodes.addAndGet(expanded);
+        System.out.printf("  [Engine] Parallel processing complete (%d nodes expanded).\n", expanded);
+        if (dijkstraBaseline != null) {
+            System.out.printf("  [Engine] %d nodes saved against Dijkstra so far (%.1f%%).\n", getNodesSavedVersusDijkstra(),
+                    100.0 * getNodesSavedVersusDijkstra() / Math.max(1, baselineNodes.get()));
         }
-        System.out.println("  [Engine] Parallel processing complete.");
         return orderedResults;
     }
 
+    // Points duplicate and reversed unbounded requests at the first request with the same endpoints,
+    // and at identical requests already running in another call on this engine. Requests with a blocked
+    // endpoint always run themselves: the finder refuses them without searching, so there is nothing to share.
+    private void coalesce(List<PathRequest> requests, boolean enabled, int[] source, boolean[] reversed,
+                          Map<Integer, CompletableFuture<Path>> shared, Map<Integer, CompletableFuture<Path>> owned,
+                          Map<RequestKey, CompletableFuture<Path>> ownedKeys) {
+        Map<RequestKey, Integer> firstByKey = new HashMap<>();
+        int duplicates = 0, reversals = 0, inFlightHits = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            source[i] = i;
+            PathRequest request = requests.get(i);
+            if (!enabled || !request.getLimits().isUnbounded()) continue;
+            Grid grid = request.getGrid();
+            if (!grid.isWalkable(request.getStartCell()) || !grid.isWalkable(request.getGoalCell())) continue;
+            RequestKey key = new RequestKey(request);
+            Integer first = firstByKey.get(key);
+            Integer opposite = first == null ? firstByKey.get(key.reversed()) : null;
+            if (first != null) {
+                source[i] = first;
+                duplicates++;
+                continue;
+            }
+            if (opposite != null) {
+                source[i] = opposite;
+                reversed[i] = true;
+                reversals++;
+                continue;
+            }
+            firstByKey.put(key, i);
+            CompletableFuture<Path> promise = new CompletableFuture<>();
+            CompletableFuture<Path> running = inFlight.putIfAbsent(key, promise);
+            if (running != null) {
+                shared.put(i, running);
+                inFlightHits++;
+            } else {
+                owned.put(i, promise);
+                ownedKeys.put(key, promise);
+            }
+        }
+        duplicateRequests.addAndGet(duplicates);
+        reversedRequests.addAndGet(reversals);
+        inFlightShares.addAndGet(inFlightHits);
+        if (duplicates + reversals + inFlightHits > 0) {
+            System.out.printf("  [Engine] Coalesced %d duplicate, %d reversed and %d in-flight requests.\n",
+                    duplicates, reversals, inFlightHits);
+        }
+    }
+
+    // Removes requests that a cached goal tree answers from pending; the rest also count toward goal heat.
+    private void answerFromGoalTrees(List<PathRequest> requests, List<Integer> pending, Map<Integer, Path> results) {
+        int hits = 0;
+        for (Iterator<Integer> it = pending.iterator(); it.hasNext(); ) {
+            int i = it.next();
+            if (!requests.get(i).getLimits().isUnbounded()) continue;
+            Path cached = goalCache.lookup(requests.get(i));
+            if (cached != null) {
+                results.put(i, cached);
+                it.remove();
+                hits++;
+            }
+        }
+        if (hits > 0) {
+            System.out.printf("  [Engine] %d requests answered from cached goal trees.\n", hits);
+        }
+    }
+
+    // B->A walks the A->B route backwards; its cost swaps the goal weight for the start weight.
+    private static Path reverse(Path path, PathRequest forward) {
+        if (!path.isFound()) return path;
+        List<Cell> cells = new ArrayList<>(path.getCells());
+        Collections.reverse(cells);
+        long cost = path.getCost() - forward.getGoalCell().getWeight() + forward.getStartCell().getWeight();
+        return new Path(cells, cost, 0);
+    }
+
+    public long getComputedRequestCount() { return computedRequests.get(); }
+    public long getDuplicateRequestCount() { return duplicateRequests.get(); }
+    public long getReversedRequestCount() { return reversedRequests.get(); }
+    public long getInFlightShareCount() { return inFlightShares.get(); }
+    // Nodes expanded by the searches this engine ran, for comparing finders on the same workload.
+    public long getExpandedNodeCount() { return expandedNodes.get(); }
+
+    // Repeats every search the finder runs with DijkstraPathFinder, off the result path, so the stats report
+    // nodes saved against it; doubles the search work, so meant for measurement runs rather than serving.
+    public ParallelPathfindingEngine compareWithDijkstra() {
+        if (!(finder instanceof DijkstraPathFinder)) dijkstraBaseline = new DijkstraPathFinder();
+        return this;
+    }
+    // Dijkstra's expansions for the compared searches, and how many fewer the finder needed for the same ones.
+    public long getDijkstraBaselineNodeCount() { return baselineNodes.get(); }
+    public long getNodesSavedVersusDijkstra() { return baselineNodes.get() - comparedNodes.get(); }
+
+    // Groups unbounded requests on unit-weight grids into batches of up to 64 nearby starts; small groups stay per-request.
+    // Requests with a blocked endpoint stay with the finder, as in coalesce, which refuses them without taking a lane.
+    private static List<List<Integer>> bitParallelBatches(List<PathRequest> requests, List<Integer> candidates) {
+        Map<Grid, List<Integer>> byGrid = new IdentityHashMap<>();
+        for (int i : candidates) {
+            PathRequest request = requests.get(i);
+            Grid grid = request.getGrid();
+            if (request.getLimits().isUnbounded()
+                    && grid.isWalkable(request.getStartCell()) && grid.isWalkable(request.getGoalCell())) {
+                byGrid.computeIfAbsent(grid, g -> new ArrayList<>()).add(i);
+            }
+        }
+        List<List<Integer>> batches = new ArrayList<>();
+        for (Map.Entry<Grid, List<Integer>> entry : byGrid.entrySet()) {
+            List<Integer> indices = entry.getValue();
+            if (indices.size() < MIN_BFS_BATCH || !BitParallelBfs.isUnitWeight(entry.getKey())) continue;
+            Comparator<PathRequest> locality = BitParallelBfs.startLocality(entry.getKey());
+            indices.sort((x, y) -> locality.compare(requests.get(x), requests.get(y)));
+            for (int from = 0; from < indices.size(); from += BitParallelBfs.LANES) {
+                batches.add(new ArrayList<>(indices.subList(from, Math.min(indices.size(), from + BitParallelBfs.LANES))));
+            }
+        }
+        return batches;
+    }
+
     private Path findPathWithVisualization(PathRequest request, int pathIndex, VisualizationCallback callback) throws InterruptedException {
         Grid grid = request.getGrid();
         Cell start = request.getStartCell();
         Cell goal = request.getGoalCell();
-        Map<Cell, Double> dist = new HashMap<>();
+        if (!grid.isWalkable(start) || !grid.isWalkable(goal)) {
+            return Path.notFound();
+        }
+        SearchBudget budget = new SearchBudget(request.getLimits());
+        Map<Cell, Long> dist = new HashMap<>();
         Map<Cell, Cell> prev = new HashMap<>();
         Set<Cell> visited = new HashSet<>();
         TreeSet<NodeCell> pq = new TreeSet<>();
-        dist.put(start, 0.0);
-        pq.add(new NodeCell(start, 0.0));
+        Cell[] neighbors = new Cell[4];
+        dist.put(start, 0L);
+        pq.add(new NodeCell(start, 0));
         while (!pq.isEmpty()) {
             NodeCell currentNode = pq.pollFirst();
             Cell u = currentNode.cell;
-            double uDist = currentNode.cost;
+            long uDist = currentNode.cost;
             if (visited.contains(u)) continue;
+            Path.Status stop = budget.onExpand(uDist);
+            if (stop != null) {
+                return Path.limitReached(stop, List.of(), 0, budget.getExpandedNodes());
+            }
             visited.add(u);
             if (callback != null) {
                 callback.onCellExplored(pathIndex, u, true);
@@ -93,17 +358,13 @@ public class ParallelPathfindingEngine {
             if (u.equals(goal)) {
                 break;
             }
-            List<Cell> neighbors = new ArrayList<>(grid.getNeighbors(u));
-            neighbors.sort((a, b) -> {
-                int rowCmp = Integer.compare(a.getRow(), b.getRow());
-                if (rowCmp != 0) return rowCmp;
-                return Integer.compare(a.getCol(), b.getCol());
-            });
-            for (Cell v : neighbors) {
+            // Already in (row, col) order, which keeps the animation deterministic.
+            int count = grid.neighbors(u, neighbors);
+            for (int n = 0; n < count; n++) {
+                Cell v = neighbors[n];
                 if (visited.contains(v)) continue;
-                double weight = v.getWeight();
-                double alt = uDist + weight;
-                double oldDist = dist.getOrDefault(v, Double.POSITIVE_INFINITY);
+                long alt = uDist + v.getWeight();
+                long oldDist = dist.getOrDefault(v, Cell.UNREACHED);
                 if (alt < oldDist) {
                     // Remove old entry
                     if (dist.containsKey(v)) {
@@ -121,16 +382,37 @@ public class ParallelPathfindingEngine {
         if (!dist.containsKey(goal)) {
             return Path.notFound();
         }
-        List<Cell> path = new ArrayList<>();
-        Cell cur = goal;
-        while (cur != null) {
-            path.add(cur);
-            if (cur.equals(start)) break;
-            cur = prev.get(cur);
+        return CompactPath.fromPredecessors(grid, prev, start, goal, dist.get(goal), budget.getExpandedNodes());
+    }
+    // Endpoints of a request on a particular grid instance.
+    private static final class RequestKey {
+        final Grid grid;
+        final int startRow, startCol, goalRow, goalCol;
+        RequestKey(PathRequest request) {
+            this(request.getGrid(), request.getStartCell().getRow(), request.getStartCell().getCol(),
+                    request.getGoalCell().getRow(), request.getGoalCell().getCol());
+        }
+        RequestKey(Grid grid, int startRow, int startCol, int goalRow, int goalCol) {
+            this.grid = grid;
+            this.startRow = startRow;
+            this.startCol = startCol;
+            this.goalRow = goalRow;
+            this.goalCol = goalCol;
+        }
+        RequestKey reversed() {
+            return new RequestKey(grid, goalRow, goalCol, startRow, startCol);
+        }
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RequestKey)) return false;
+            RequestKey other = (RequestKey) obj;
+            return grid == other.grid && startRow == other.startRow && startCol == other.startCol
+                    && goalRow == other.goalRow && goalCol == other.goalCol;
+        }
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(grid) * 31 + Objects.hash(startRow, startCol, goalRow, goalCol);
         }
-        Collections.reverse(path);
-        double totalCost = dist.get(goal);
-        return new Path(path, totalCost);
     }
     private static class PathResult {
         final int index;
@@ -142,14 +424,14 @@ public class ParallelPathfindingEngine {
     }
     private static class NodeCell implements Comparable<NodeCell> {
         final Cell cell;
-        final double cost;
-        NodeCell(Cell cell, double cost) {
+        final long cost;
+        NodeCell(Cell cell, long cost) {
             this.cell = cell;
             this.cost = cost;
         }
         @Override
         public int compareTo(NodeCell other) {
-            int costCmp = Double.compare(this.cost, other.cost);
+            int costCmp = Long.compare(this.cost, other.cost);
             if (costCmp != 0) return costCmp;
 
             int rowCmp = Integer.compare(this.cell.getRow(), other.cell.getRow());
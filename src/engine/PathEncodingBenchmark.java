@@ -0,0 +1,78 @@
+package engine;
+
+import core.*;
+import algorithm.DijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PathEncodingBenchmark {
+    private static final int PATH_COUNT = 200;
+    private static final int SERIALIZE_ROUNDS = 50;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : PathfindingExperiment.BENCHMARK_GRID_SIZE;
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        run(grid);
+    }
+
+    public static void run(Grid grid) throws IOException {
+        System.out.printf("\n--- Path Encoding Benchmark (%dx%d, %d paths) ---\n", grid.getRows(), grid.getCols(), PATH_COUNT);
+        List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, PATH_COUNT, WorkloadGenerator.RequestDistribution.FAR);
+        PathFinder finder = new DijkstraPathFinder();
+        List<Path> compactPaths = new ArrayList<>();
+        List<Path> listPaths = new ArrayList<>();
+        long totalSteps = 0;
+        for (PathRequest request : requests) {
+            Path path = finder.findPath(request);
+            if (!path.isFound()) continue;
+            compactPaths.add(path);
+            listPaths.add(new Path(new ArrayList<>(path.getCells()), path.getCost()));
+            totalSteps += path.length();
+        }
+
+        // Shallow estimate with compressed oops: object headers plus references, cells are shared with the grid.
+        long listBytes = 0, compactBytes = 0;
+        for (Path path : listPaths) listBytes += 32 + 24 + 16 + 4L * path.length();
+        for (Path path : compactPaths) compactBytes += 48 + 16 + ((CompactPath) path).getEncodedSizeBytes();
+        System.out.printf("Paths: %d, avg length: %.1f cells\n", compactPaths.size(), (double) totalSteps / compactPaths.size());
+        System.out.printf("Estimated retained size: List<Cell> %.1f KB, compact %.1f KB (%.1f%%)\n",
+                listBytes / 1024.0, compactBytes / 1024.0, 100.0 * compactBytes / listBytes);
+
+        System.out.printf("Serialized: List<Cell> source %d bytes, compact source %d bytes\n",
+                serialize(listPaths).length, serialize(compactPaths).length);
+        double listUs = timeSerialization(listPaths);
+        double compactUs = timeSerialization(compactPaths);
+        System.out.printf("Serialize time per path: from List<Cell> %.2f us, from compact %.2f us\n", listUs, compactUs);
+
+        byte[] bytes = serialize(compactPaths);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        int mismatches = 0;
+        for (Path expected : listPaths) {
+            Path decoded = PathCodec.read(in, grid);
+            if (decoded.getTotalCost() != expected.getTotalCost() || !decoded.getCells().equals(expected.getCells())) {
+                mismatches++;
+            }
+        }
+        System.out.printf("Round trip mismatches: %d/%d\n", mismatches, listPaths.size());
+    }
+
+    private static byte[] serialize(List<Path> paths) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Path path : paths) PathCodec.write(path, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static double timeSerialization(List<Path> paths) throws IOException {
+        serialize(paths); // warm up
+        long start = System.nanoTime();
+        for (int round = 0; round < SERIALIZE_ROUNDS; round++) serialize(paths);
+        return (System.nanoTime() - start) / 1000.0 / (SERIALIZE_ROUNDS * paths.size());
+    }
+}
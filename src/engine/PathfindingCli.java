@@ -0,0 +1,328 @@
+package engine;
+
+import core.*;
+import algorithm.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Headless entry point: runs request batches through the engine or the thread-count benchmark
+ * sweep and writes machine-readable results. Nothing here touches AWT or Swing. Engine progress
+ * lines go to stderr so that stdout carries only CSV or JSON.
+ */
+public class PathfindingCli {
+    private static final double DEFAULT_EPSILON = 1.5;
+    private static final String USAGE = String.join("\n",
+            "Usage: PathfindingCli <command> [options]",
+            "Commands:",
+            "  run        execute requests through the engine",
+            "  benchmark  sequential vs parallel sweep over thread counts",
+            "Grid options:",
+            "  --grid FILE            load a grid: .map (Moving AI), .txt (weighted text) or a tile file",
+            "  --size N               generated grid size (default " + PathfindingExperiment.BENCHMARK_GRID_SIZE + ")",
+            "  --map-type TYPE        " + Arrays.toString(GridGenerator.MapType.values()) + " (default RANDOM)",
+            "  --max-weight N         (default " + PathfindingExperiment.MAX_WEIGHT + ")",
+            "  --density D            (default " + PathfindingExperiment.OBSTACLE_DENSITY + ")",
+            "  --seed S               (default " + PathfindingExperiment.BENCHMARK_SEED + ")",
+            "  --save-grid FILE       write the grid as a tile file",
+            "Run options:",
+            "  --requests FILE        CSV lines startRow,startCol,goalRow,goalCol",
+            "  --scenario FILE        Moving AI .scen requests, checked against their octile lengths",
+            "  --count N              generated requests when no file is given (default " + PathfindingExperiment.NUM_REQUESTS + ")",
+            "  --distribution D       " + Arrays.toString(WorkloadGenerator.RequestDistribution.values()) + " (default UNIFORM)",
+            "  --finder F             dijkstra | indexed | ch | cpd | corridor | wastar | adaptive (default dijkstra)",
+            "  --epsilon E            suboptimality bound for wastar (default " + DEFAULT_EPSILON + ")",
+            "  --mode M               parallel | sequential | cooperative (default parallel)",
+            "  --threads N            engine threads (default " + Runtime.getRuntime().availableProcessors() + ")",
+            "Benchmark options:",
+            "  --thread-counts LIST   comma separated (default " + join(PathfindingExperiment.THREAD_COUNTS) + ")",
+            "  --warmup N             warm-up rounds per configuration (default " + BenchmarkRunner.DEFAULT_WARMUP_ROUNDS + ")",
+            "  --trials N             timed trials per configuration (default " + BenchmarkRunner.DEFAULT_TRIALS + ")",
+            "  --append-csv FILE      also append timestamped rows to FILE for trend tracking",
+            "  (the grid options above and --count, --finder apply as well)",
+            "Output options:",
+            "  --format csv|json      (default csv)",
+            "  --output FILE          write results to FILE instead of stdout");
+
+    public static void main(String[] args) {
+        PrintStream stdout = System.out;
+        System.setOut(System.err);
+        try {
+            System.exit(run(args, stdout));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public static int run(String[] args, PrintStream stdout) throws IOException {
+        if (args.length == 0 || args[0].equals("--help") || args[0].equals("help")) {
+            stdout.println(USAGE);
+            return 0;
+        }
+        Map<String, String> options = parseOptions(Arrays.copyOfRange(args, 1, args.length));
+        String format = options.getOrDefault("format", "csv");
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        if (!args[0].equals("run") && !args[0].equals("benchmark")) {
+            throw new IllegalArgumentException("Unknown command: " + args[0]);
+        }
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        Grid grid = loadGrid(options);
+        try {
+            if (args[0].equals("run")) {
+                runRequests(grid, options, format, out);
+            } else {
+                runBenchmark(grid, options, format, out);
+            }
+        } finally {
+            // Tile files are opened as a MappedGrid, which holds its channel until closed.
+            if (grid instanceof AutoCloseable) closeGrid((AutoCloseable) grid);
+        }
+        out.flush();
+        if (options.containsKey("output")) {
+            Files.write(Paths.get(options.get("output")), buffer.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            stdout.print(buffer);
+            stdout.flush();
+        }
+        return 0;
+    }
+
+    private static void runRequests(Grid grid, Map<String, String> options, String format, PrintWriter out)
+            throws IOException {
+        Scenario scenario = options.containsKey("scenario") ? Scenario.read(Paths.get(options.get("scenario")), grid) : null;
+        List<PathRequest> requests = scenario != null ? scenario.getRequests() : options.containsKey("requests")
+                ? readRequests(Paths.get(options.get("requests")), grid)
+                : new WorkloadGenerator(longOption(options, "seed", PathfindingExperiment.BENCHMARK_SEED)).generateRequests(
+                        grid, intOption(options, "count", PathfindingExperiment.NUM_REQUESTS),
+                        WorkloadGenerator.RequestDistribution.valueOf(options.getOrDefault("distribution", "UNIFORM").toUpperCase()));
+        int threads = intOption(options, "threads", Runtime.getRuntime().availableProcessors());
+        String mode = options.getOrDefault("mode", "parallel");
+
+        long buildStart = System.nanoTime();
+        PathFinder finder = createFinder(options, grid, threads);
+        double buildMs = (System.nanoTime() - buildStart) / 1_000_000.0;
+        long start = System.nanoTime();
+        List<Path> paths;
+        switch (mode) {
+            case "parallel":
+                paths = new ParallelPathfindingEngine(threads, finder).processRequests(requests);
+                break;
+            case "sequential":
+                paths = new ArrayList<>(requests.size());
+                for (PathRequest request : requests) paths.add(finder.findPath(request));
+                break;
+            case "cooperative":
+                paths = new ParallelPathfindingEngine(threads, finder).processRequestsCooperatively(requests);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        long found = paths.stream().filter(Path::isFound).count();
+        if (scenario != null) {
+            int consistent = 0;
+            for (int i = 0; i < paths.size(); i++) {
+                if (scenario.isConsistent(i, paths.get(i))) consistent++;
+            }
+            System.err.printf("Scenario %s: %d of %d results within the octile bounds%n", scenario.getMapName(),
+                    consistent, paths.size());
+        }
+
+        if (format.equals("csv")) {
+            out.printf(Locale.ROOT, "# grid=%dx%d finder=%s mode=%s threads=%d requests=%d found=%d build_ms=%.3f elapsed_ms=%.3f%n",
+                    grid.getRows(), grid.getCols(), finder.getFinderName(), mode, threads, requests.size(), found, buildMs, elapsedMs);
+            out.println("id,start_row,start_col,goal_row,goal_col,status,cost,length,expanded");
+            for (int i = 0; i < requests.size(); i++) {
+                PathRequest request = requests.get(i);
+                Path path = paths.get(i);
+                out.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%s,%s,%d,%d%n", request.getRequestId(),
+                        request.getStartCell().getRow(), request.getStartCell().getCol(),
+                        request.getGoalCell().getRow(), request.getGoalCell().getCol(),
+                        path.getStatus(), path.isFound() ? formatCost(path) : "", path.length(), path.getExpandedNodes());
+            }
+        } else {
+            out.printf(Locale.ROOT, "{\"grid\":{\"rows\":%d,\"cols\":%d},\"finder\":%s,\"mode\":%s,\"threads\":%d,",
+                    grid.getRows(), grid.getCols(), jsonString(finder.getFinderName()), jsonString(mode), threads);
+            out.printf(Locale.ROOT, "\"requests\":%d,\"found\":%d,\"buildMs\":%.3f,\"elapsedMs\":%.3f,\"results\":[",
+                    requests.size(), found, buildMs, elapsedMs);
+            for (int i = 0; i < requests.size(); i++) {
+                PathRequest request = requests.get(i);
+                Path path = paths.get(i);
+                out.printf(Locale.ROOT, "%s%n{\"id\":%d,\"start\":[%d,%d],\"goal\":[%d,%d],\"status\":\"%s\",\"cost\":%s,\"length\":%d,\"expanded\":%d}",
+                        i == 0 ? "" : ",", request.getRequestId(),
+                        request.getStartCell().getRow(), request.getStartCell().getCol(),
+                        request.getGoalCell().getRow(), request.getGoalCell().getCol(),
+                        path.getStatus(), path.isFound() ? formatCost(path) : "null", path.length(), path.getExpandedNodes());
+            }
+            out.println("]}");
+        }
+    }
+
+    private static void runBenchmark(Grid grid, Map<String, String> options, String format, PrintWriter out)
+            throws IOException {
+        int[] threadCounts = options.containsKey("thread-counts")
+                ? Arrays.stream(options.get("thread-counts").split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+                : PathfindingExperiment.THREAD_COUNTS;
+        createFinder(options, grid, 1); // validate the name before the sweep starts
+        BenchmarkRunner runner = new BenchmarkRunner(grid, intOption(options, "count", PathfindingExperiment.NUM_REQUESTS),
+                () -> createFinder(options, grid, 1), intOption(options, "warmup", BenchmarkRunner.DEFAULT_WARMUP_ROUNDS),
+                intOption(options, "trials", BenchmarkRunner.DEFAULT_TRIALS));
+        List<BenchmarkResults> results = runner.runSweep(threadCounts);
+        double amdahl = BenchmarkResults.fitAmdahlSerialFraction(results);
+        double gustafson = BenchmarkResults.fitGustafsonSerialFraction(results);
+        if (options.containsKey("append-csv")) {
+            BenchmarkResults.appendCsv(results, Paths.get(options.get("append-csv")));
+        }
+        if (format.equals("csv")) {
+            out.printf(Locale.ROOT, "# amdahl_serial_fraction=%.4f gustafson_serial_fraction=%.4f%n", amdahl, gustafson);
+            out.println(BenchmarkResults.csvHeader());
+            Instant now = Instant.now();
+            for (BenchmarkResults r : results) out.println(r.toCsvRow(now));
+        } else {
+            out.printf(Locale.ROOT, "{\"amdahlSerialFraction\":%s,\"gustafsonSerialFraction\":%s,\"results\":[",
+                    jsonNumber(amdahl), jsonNumber(gustafson));
+            for (int i = 0; i < results.size(); i++) {
+                BenchmarkResults r = results.get(i);
+                out.printf(Locale.ROOT, "%s%n{\"threads\":%d,\"trials\":%d,\"requests\":%d,\"found\":%d,"
+                                + "\"sequentialMs\":%.3f,\"sequentialSdMs\":%.3f,\"sequentialCi95Ms\":%.3f,"
+                                + "\"parallelMs\":%.3f,\"parallelSdMs\":%.3f,\"parallelCi95Ms\":%.3f,"
+                                + "\"speedup\":%.3f,\"efficiency\":%.3f,\"throughputRps\":%.3f,\"p50Ms\":%.3f,\"p99Ms\":%.3f}",
+                        i == 0 ? "" : ",", r.threadCount, r.trials, r.totalRequests, r.pathsFound,
+                        r.sequentialTimeMs, r.sequentialStdDevMs, r.sequentialCi95Ms,
+                        r.parallelTimeMs, r.parallelStdDevMs, r.parallelCi95Ms,
+                        r.calculateSpeedup(), r.calculateEfficiency(), r.calculateParallelThroughput(),
+                        r.p50LatencyMs, r.p99LatencyMs);
+            }
+            out.println("]}");
+        }
+    }
+
+    private static Grid loadGrid(Map<String, String> options) throws IOException {
+        Grid grid;
+        if (options.containsKey("grid")) {
+            String file = options.get("grid");
+            grid = file.endsWith(".map") || file.endsWith(".txt")
+                    ? GridFormats.read(Paths.get(file)) : MappedGrid.open(Paths.get(file));
+        } else {
+            int size = intOption(options, "size", PathfindingExperiment.BENCHMARK_GRID_SIZE);
+            grid = new GridGenerator(longOption(options, "seed", PathfindingExperiment.BENCHMARK_SEED)).generate(
+                    GridGenerator.MapType.valueOf(options.getOrDefault("map-type", "RANDOM").toUpperCase()), size, size,
+                    intOption(options, "max-weight", PathfindingExperiment.MAX_WEIGHT),
+                    Double.parseDouble(options.getOrDefault("density", String.valueOf(PathfindingExperiment.OBSTACLE_DENSITY))));
+        }
+        if (options.containsKey("save-grid")) {
+            TiledGrid.write(grid, Paths.get(options.get("save-grid")), TiledGrid.DEFAULT_TILE_SIZE);
+        }
+        return grid;
+    }
+
+    private static PathFinder createFinder(Map<String, String> options, Grid grid, int threads) {
+        String name = options.getOrDefault("finder", "dijkstra");
+        switch (name) {
+            case "dijkstra":
+                return new DijkstraPathFinder();
+            case "indexed":
+                return new IndexedDijkstraPathFinder();
+            case "ch":
+                return ContractionHierarchy.build(grid, threads);
+            case "cpd":
+                return CompressedPathDatabase.build(grid, threads);
+            case "corridor":
+                return new CorridorPathFinder();
+            case "wastar":
+                return new CorridorPathFinder(Double.parseDouble(options.getOrDefault("epsilon", String.valueOf(DEFAULT_EPSILON))));
+            case "adaptive":
+                return new AdaptivePathFinder(new IndexedDijkstraPathFinder(), new CorridorPathFinder());
+            default:
+                throw new IllegalArgumentException("Unknown finder: " + name);
+        }
+    }
+
+    static List<PathRequest> readRequests(java.nio.file.Path file, Grid grid) throws IOException {
+        List<PathRequest> requests = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#") || Character.isLetter(line.charAt(0))) continue;
+            String[] parts = line.split("\\s*,\\s*");
+            if (parts.length < 4) {
+                throw new IllegalArgumentException(file + ":" + lineNumber + ": expected startRow,startCol,goalRow,goalCol");
+            }
+            Cell start = grid.getCell(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+            Cell goal = grid.getCell(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+            if (start == null || goal == null) {
+                throw new IllegalArgumentException(file + ":" + lineNumber + ": cell outside the " + grid.getRows() + "x" + grid.getCols() + " grid");
+            }
+            requests.add(new PathRequest(requests.size() + 1, grid, start, goal));
+        }
+        return requests;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+    private static int intOption(Map<String, String> options, String key, int defaultValue) {
+        return options.containsKey(key) ? Integer.parseInt(options.get(key)) : defaultValue;
+    }
+    private static long longOption(Map<String, String> options, String key, long defaultValue) {
+        return options.containsKey(key) ? Long.parseLong(options.get(key)) : defaultValue;
+    }
+    private static String formatCost(Path path) {
+        return String.format(Locale.ROOT, "%.1f", path.getTotalCost());
+    }
+    private static void closeGrid(AutoCloseable grid) throws IOException {
+        try {
+            grid.close();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to close " + grid, e);
+        }
+    }
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (ch < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) ch));
+                    else sb.append(ch);
+            }
+        }
+        return sb.append('"').toString();
+    }
+    private static String jsonNumber(double value) {
+        return Double.isNaN(value) ? "null" : String.format(Locale.ROOT, "%.4f", value);
+    }
+    private static String join(int[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int v : values) sb.append(sb.length() == 0 ? "" : ",").append(v);
+        return sb.toString();
+    }
+}
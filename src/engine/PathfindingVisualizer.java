@@ -21,6 +21,9 @@ public class PathfindingVisualizer extends JFrame {
     private JLabel statusLabel;
     private JLabel executionTimeLabel;
     private DefaultTableModel benchmarkTableModel;
+    private final List<BenchmarkResults> benchmarkResults = new ArrayList<>();
+    private SpeedupPlotPanel speedupPlot;
+    private JLabel scalingFitLabel;
     private DefaultTableModel pathTableModel;
     private boolean isAnimating = false;
     private JComboBox<String> executionModeCombo;
@@ -39,11 +42,12 @@ public class PathfindingVisualizer extends JFrame {
             new Color(100, 100, 100),  // Yellow
             new Color(255, 0, 0)   // Light Red
     };
-    private static final int[] THREAD_COUNTS = {2 ,4 ,6 ,8 ,10 ,12 ,14 ,16};
-    private static final String[] BENCHMARK_TABLE_COLUMNS = {"Threads", "Seq Time (ms)", "Par Time (ms)", "Speedup", "Throughput (req/s)", "Accuracy"};
+    private static final String[] BENCHMARK_TABLE_COLUMNS = {"Threads", "Seq Time (ms)", "Par Time (ms)", "Speedup",
+            "Efficiency", "Throughput (req/s)", "p50 (ms)", "p99 (ms)", "Accuracy"};
     private static final String[] PATH_TABLE_COLUMNS = {"#", "Start", "Goal", "Cost", "Length", "Status"};
     private static final String MODE_SEQUENTIAL = "Sequential";
     private static final String MODE_PARALLEL = "Parallel";
+    private static final String MODE_COOPERATIVE = "Cooperative";
     public PathfindingVisualizer() {
         this.currentGrid = PathfindingExperiment.createVisualizationGrid();
         setTitle("Project 6 - Interactive Parallel Pathfinding (Multi-Path with Dijkstra)");
@@ -88,8 +92,8 @@ public class PathfindingVisualizer extends JFrame {
     private JPanel createControlPanel() {
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
         panel.add(new JLabel("Execution Mode:"));
-        executionModeCombo = new JComboBox<>(new String[]{MODE_SEQUENTIAL, MODE_PARALLEL});
-        executionModeCombo.setToolTipText("Choose between sequential (one-by-one) or parallel (concurrent) execution");
+        executionModeCombo = new JComboBox<>(new String[]{MODE_SEQUENTIAL, MODE_PARALLEL, MODE_COOPERATIVE});
+        executionModeCombo.setToolTipText("Choose between sequential (one-by-one), parallel (concurrent) or cooperative (collision-free) execution");
         panel.add(executionModeCombo);
         JButton findAllButton = new JButton("Find All Paths");
         findAllButton.addActionListener(this::findAllPaths);
@@ -183,7 +187,7 @@ public class PathfindingVisualizer extends JFrame {
         for (int i = 0; i < pathPairs.size(); i++) {
             PathPair pair = pathPairs.get(i);
             String status = pair.path == null ? "Not computed" :
-                    (pair.path.isFound() ? "Found" : "Not found");
+                    (pair.path.isFound() ? "Found" : pair.path.isLimitReached() ? pair.path.getStatus().name() : "Not found");
             String cost = pair.path != null && pair.path.isFound() ?
                     String.format("%.2f", pair.path.getTotalCost()) : "-";
             String length = pair.path != null && pair.path.isFound() ?
@@ -210,6 +214,8 @@ public class PathfindingVisualizer extends JFrame {
         String mode = (String) executionModeCombo.getSelectedItem();
         if (MODE_SEQUENTIAL.equals(mode)) {
             executeSequential();
+        } else if (MODE_COOPERATIVE.equals(mode)) {
+            executeCooperative();
         } else {
             executeParallel();
         }
@@ -331,6 +337,51 @@ public class PathfindingVisualizer extends JFrame {
             }
         }.execute();
     }
+    private void executeCooperative() {
+        isAnimating = true;
+        exploredCells.clear();
+        currentCells.clear();
+        statusLabel.setText("Planning collision-free paths COOPERATIVELY (shared reservation table)...");
+        executionTimeLabel.setText("Execution in progress...");
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() {
+                long startTime = System.nanoTime();
+                Grid gridCopy = createGridCopy();
+                List<PathRequest> requests = new ArrayList<>();
+                for (int i = 0; i < pathPairs.size(); i++) {
+                    PathPair pair = pathPairs.get(i);
+                    requests.add(new PathRequest(i + 1, gridCopy,
+                            gridCopy.getCell(pair.start.getRow(), pair.start.getCol()),
+                            gridCopy.getCell(pair.goal.getRow(), pair.goal.getCol())));
+                }
+                int numThreads = Math.min(pathPairs.size(), Runtime.getRuntime().availableProcessors());
+                List<Path> results = new ParallelPathfindingEngine(numThreads).processRequestsCooperatively(requests);
+                for (int i = 0; i < results.size(); i++) {
+                    pathPairs.get(i).path = results.get(i);
+                }
+                return (System.nanoTime() - startTime) / 1_000_000;
+            }
+            @Override
+            protected void done() {
+                try {
+                    long executionTimeMs = get();
+                    isAnimating = false;
+                    updatePathTable();
+                    gridPanel.repaint();
+                    long foundCount = pathPairs.stream().filter(p -> p.path != null && p.path.isFound()).count();
+                    statusLabel.setText(String.format("COOPERATIVE planning complete! %d/%d collision-free paths found.",
+                            foundCount, pathPairs.size()));
+                    executionTimeLabel.setText(String.format("Cooperative Time: %d ms | Algorithm: Cooperative A*",
+                            executionTimeMs));
+                } catch (Exception ex) {
+                    isAnimating = false;
+                    statusLabel.setText("Error during cooperative execution: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        }.execute();
+    }
     private Path findPathWithVisualization(Grid grid, Cell start, Cell goal, int pathIndex) throws InterruptedException {
         grid.resetAllCells();
         PriorityQueue<NodeCell> openSet = new PriorityQueue<>();
@@ -351,7 +402,7 @@ public class PathfindingVisualizer extends JFrame {
             }
             for (Cell neighbor : grid.getNeighbors(current)) {
                 if (visited.contains(neighbor)) continue;
-                double newCost = current.getPathCost() + neighbor.getWeight();
+                long newCost = current.getPathCost() + neighbor.getWeight();
                 if (newCost < neighbor.getPathCost()) {
                     neighbor.setPathCost(newCost);
                     neighbor.setPredecessor(current);
@@ -365,7 +416,7 @@ public class PathfindingVisualizer extends JFrame {
     private Path reconstructPath(Cell start, Cell goal) {
         List<Cell> path = new ArrayList<>();
         Cell current = goal;
-        double totalCost = goal.getPathCost();
+        long totalCost = goal.getPathCost();
         while (current != null) {
             path.add(current);
             if (current.equals(start)) break;
@@ -387,22 +438,50 @@ public class PathfindingVisualizer extends JFrame {
         JTable table = new JTable(benchmarkTableModel);
         table.setFillsViewportHeight(true);
         table.setRowHeight(25);
-        mainPanel.add(new JScrollPane(table), BorderLayout.CENTER);
+        speedupPlot = new SpeedupPlotPanel();
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(table), speedupPlot);
+        split.setResizeWeight(0.5);
+        mainPanel.add(split, BorderLayout.CENTER);
+        scalingFitLabel = new JLabel(String.format("Warm-up until stable, %d timed trials per configuration, 95%% CI shown as +/-",
+                BenchmarkRunner.DEFAULT_TRIALS));
+        mainPanel.add(scalingFitLabel, BorderLayout.NORTH);
         JButton runButton = new JButton("Run Full Multi-Thread Benchmark (50 Requests)");
         runButton.addActionListener(this::runMultiThreadBenchmark);
-        mainPanel.add(runButton, BorderLayout.SOUTH);
+        JButton exportButton = new JButton("Export CSV...");
+        exportButton.addActionListener(this::exportBenchmarkCsv);
+        JPanel buttons = new JPanel(new BorderLayout(10, 0));
+        buttons.add(runButton, BorderLayout.CENTER);
+        buttons.add(exportButton, BorderLayout.EAST);
+        mainPanel.add(buttons, BorderLayout.SOUTH);
         return mainPanel;
     }
+    private void exportBenchmarkCsv(ActionEvent e) {
+        if (benchmarkResults.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Run the benchmark first.", "Nothing to export", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File("benchmark-results.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            BenchmarkResults.writeCsv(benchmarkResults, chooser.getSelectedFile().toPath());
+        } catch (java.io.IOException ex) {
+            JOptionPane.showMessageDialog(this, "Export failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
     private void runMultiThreadBenchmark(ActionEvent e) {
         benchmarkTableModel.setRowCount(0);
+        benchmarkResults.clear();
+        speedupPlot.repaint();
         new SwingWorker<List<BenchmarkResults>, BenchmarkResults>() {
             private final JButton sourceButton = (JButton) e.getSource();
             @Override
             protected List<BenchmarkResults> doInBackground() throws Exception {
                 sourceButton.setEnabled(false);
                 List<BenchmarkResults> allResults = new ArrayList<>();
-                for (int threadCount : THREAD_COUNTS) {
-                    BenchmarkResults result = PathfindingExperiment.runFullBenchmark(threadCount);
+                BenchmarkRunner runner = new BenchmarkRunner();
+                for (int threadCount : PathfindingExperiment.THREAD_COUNTS) {
+                    BenchmarkResults result = runner.run(threadCount);
                     publish(result);
                     allResults.add(result);
                 }
@@ -411,15 +490,26 @@ public class PathfindingVisualizer extends JFrame {
             @Override
             protected void process(List<BenchmarkResults> chunks) {
                 for (BenchmarkResults result : chunks) {
+                    benchmarkResults.add(result);
                     benchmarkTableModel.addRow(new Object[]{
                             result.threadCount,
-                            String.format("%.3f", result.sequentialTimeMs),
-                            String.format("%.3f", result.parallelTimeMs),
+                            String.format("%.3f +/- %.3f", result.sequentialTimeMs, result.sequentialCi95Ms),
+                            String.format("%.3f +/- %.3f", result.parallelTimeMs, result.parallelCi95Ms),
                             String.format("%.2fx", result.calculateSpeedup()),
+                            String.format("%.0f%%", result.calculateEfficiency() * 100),
                             String.format("%.1f", result.calculateParallelThroughput()),
+                            String.format("%.3f", result.p50LatencyMs),
+                            String.format("%.3f", result.p99LatencyMs),
                             String.format("%d/%d", result.pathsFound, result.totalRequests)
                     });
                 }
+                double amdahl = BenchmarkResults.fitAmdahlSerialFraction(benchmarkResults);
+                double gustafson = BenchmarkResults.fitGustafsonSerialFraction(benchmarkResults);
+                if (!Double.isNaN(amdahl)) {
+                    scalingFitLabel.setText(String.format("Serial fraction fit: Amdahl %.1f%% (max speedup %.1fx), Gustafson %.1f%%",
+                            amdahl * 100, amdahl == 0 ? Double.POSITIVE_INFINITY : 1 / amdahl, gustafson * 100));
+                }
+                speedupPlot.repaint();
             }
 
             @Override
@@ -433,6 +523,69 @@ public class PathfindingVisualizer extends JFrame {
         }.execute();
     }
 
+    // Measured speedup with its confidence interval against ideal scaling and the fitted Amdahl curve.
+    private class SpeedupPlotPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        SpeedupPlotPanel() {
+            setPreferredSize(new Dimension(600, 260));
+            setBackground(Color.WHITE);
+        }
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (benchmarkResults.isEmpty()) {
+                g.drawString("Speedup vs threads appears here after a benchmark run.", 20, 30);
+                return;
+            }
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int left = 50, right = getWidth() - 20, top = 20, bottom = getHeight() - 35;
+            int maxThreads = 1;
+            double maxSpeedup = 1;
+            for (BenchmarkResults r : benchmarkResults) {
+                maxThreads = Math.max(maxThreads, r.threadCount);
+                maxSpeedup = Math.max(maxSpeedup, r.calculateSpeedup() * 1.2);
+            }
+            maxSpeedup = Math.min(Math.max(maxSpeedup, 2), maxThreads * 1.2);
+            final int threadsMax = maxThreads;
+            final double speedupMax = maxSpeedup;
+            java.util.function.IntUnaryOperator x = t -> left + (right - left) * t / threadsMax;
+            java.util.function.DoubleToIntFunction y = v -> bottom - (int) ((bottom - top) * Math.min(v, speedupMax) / speedupMax);
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawLine(left, bottom, right, bottom);
+            g2.drawLine(left, bottom, left, top);
+            g2.drawString("threads", right - 45, bottom + 28);
+            g2.drawString("speedup", 5, top - 5);
+            for (BenchmarkResults r : benchmarkResults) {
+                g2.drawString(String.valueOf(r.threadCount), x.applyAsInt(r.threadCount) - 4, bottom + 14);
+            }
+            for (int s = 1; s <= (int) speedupMax; s++) {
+                g2.drawString(String.valueOf(s), left - 20, y.applyAsInt(s) + 4);
+            }
+            g2.setColor(Color.LIGHT_GRAY);
+            g2.drawLine(x.applyAsInt(0), y.applyAsInt(0), x.applyAsInt(threadsMax), y.applyAsInt(threadsMax));
+            double serial = BenchmarkResults.fitAmdahlSerialFraction(benchmarkResults);
+            if (!Double.isNaN(serial)) {
+                g2.setColor(new Color(255, 150, 0));
+                for (int t = 1; t < threadsMax; t++) {
+                    g2.drawLine(x.applyAsInt(t), y.applyAsInt(BenchmarkResults.amdahlSpeedup(serial, t)),
+                            x.applyAsInt(t + 1), y.applyAsInt(BenchmarkResults.amdahlSpeedup(serial, t + 1)));
+                }
+            }
+            g2.setColor(new Color(0, 90, 200));
+            for (BenchmarkResults r : benchmarkResults) {
+                int px = x.applyAsInt(r.threadCount);
+                double speedup = r.calculateSpeedup();
+                // Speedup interval from the extremes of both means' confidence intervals.
+                double low = (r.sequentialTimeMs - r.sequentialCi95Ms) / (r.parallelTimeMs + r.parallelCi95Ms);
+                double high = r.parallelTimeMs > r.parallelCi95Ms
+                        ? (r.sequentialTimeMs + r.sequentialCi95Ms) / (r.parallelTimeMs - r.parallelCi95Ms) : speedupMax;
+                g2.drawLine(px, y.applyAsInt(Math.max(0, low)), px, y.applyAsInt(high));
+                g2.fillOval(px - 4, y.applyAsInt(speedup) - 4, 8, 8);
+            }
+        }
+    }
+
     private static class PathResult {
         int index;
         Path path;
@@ -0,0 +1,97 @@
+package engine;
+
+import core.*;
+import algorithm.DijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replays traffic in which most requests repeat or reverse an earlier one, through a single
+ * engine and through two clients submitting the same batch at once, and checks every result
+ * against an uncoalesced search.
+ */
+public class RequestCoalescingBenchmark {
+    private static final double DUPLICATE_SHARE = 0.4;
+    private static final double REVERSED_SHARE = 0.3;
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int requestCount = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        run(size, requestCount, threads);
+    }
+
+    public static void run(int size, int requestCount, int threads) throws Exception {
+        System.out.printf("\n--- Request Coalescing Benchmark (%dx%d, %d requests, %d threads) ---\n",
+                size, size, requestCount, threads);
+        Grid grid = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        List<PathRequest> requests = repeatedTraffic(grid, requestCount);
+
+        PathFinder finder = new DijkstraPathFinder();
+        long start = System.nanoTime();
+        List<Path> expected = new ArrayList<>(requests.size());
+        for (PathRequest request : requests) expected.add(finder.findPath(request));
+        double uncoalescedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        ParallelPathfindingEngine engine = new ParallelPathfindingEngine(threads);
+        start = System.nanoTime();
+        List<Path> actual = engine.processRequests(requests);
+        double engineMs = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("One client:  %d requests, %d computed, %d duplicates, %d reversed, %d mismatches\n",
+                requests.size(), engine.getComputedRequestCount(), engine.getDuplicateRequestCount(),
+                engine.getReversedRequestCount(), mismatches(expected, actual));
+        System.out.printf("Time: %.1f ms sequential without coalescing, %.1f ms through the engine\n",
+                uncoalescedMs, engineMs);
+
+        ParallelPathfindingEngine sharedEngine = new ParallelPathfindingEngine(threads);
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Path>> first = clients.submit(() -> sharedEngine.processRequests(requests));
+            Future<List<Path>> second = clients.submit(() -> sharedEngine.processRequests(requests));
+            int clientMismatches = mismatches(expected, first.get()) + mismatches(expected, second.get());
+            System.out.printf("Two clients: %d requests, %d computed, %d shared in flight, %d mismatches\n",
+                    2 * requests.size(), sharedEngine.getComputedRequestCount(), sharedEngine.getInFlightShareCount(),
+                    clientMismatches);
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    // Each request after the first few repeats or reverses an earlier one with the configured odds.
+    private static List<PathRequest> repeatedTraffic(Grid grid, int count) {
+        List<PathRequest> base = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                .generateRequests(grid, count, WorkloadGenerator.RequestDistribution.UNIFORM);
+        SplittableRandom random = new SplittableRandom(PathfindingExperiment.BENCHMARK_SEED);
+        List<PathRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double roll = random.nextDouble();
+            if (i == 0 || roll >= DUPLICATE_SHARE + REVERSED_SHARE) {
+                requests.add(new PathRequest(i, grid, base.get(i).getStartCell(), base.get(i).getGoalCell()));
+                continue;
+            }
+            PathRequest earlier = requests.get(random.nextInt(i));
+            requests.add(roll < DUPLICATE_SHARE
+                    ? new PathRequest(i, grid, earlier.getStartCell(), earlier.getGoalCell())
+                    : new PathRequest(i, grid, earlier.getGoalCell(), earlier.getStartCell()));
+        }
+        return requests;
+    }
+
+    private static int mismatches(List<Path> expected, List<Path> actual) {
+        int mismatches = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            Path a = expected.get(i), b = actual.get(i);
+            if (a.isFound() != b.isFound() || (a.isFound() && Math.abs(a.getTotalCost() - b.getTotalCost()) > 1e-9)) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+}
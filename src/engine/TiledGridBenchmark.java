@@ -0,0 +1,108 @@
+package engine;
+
+import core.*;
+import algorithm.DijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TiledGridBenchmark {
+    private static final int[] CACHE_SIZES = {1, 2, 4, 8, 16, 64};
+    private static final int REQUEST_COUNT = 20;
+    private static final int MAX_REQUEST_SPAN = 200;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int tileSize = args.length > 1 ? Integer.parseInt(args[1]) : TiledGrid.DEFAULT_TILE_SIZE;
+        verifyAgainstInMemoryGrid();
+        run(size, tileSize);
+    }
+
+    public static void run(int size, int tileSize) throws IOException {
+        System.out.printf("\n--- Tiled Grid Benchmark (%dx%d, %dx%d tiles) ---\n", size, size, tileSize, tileSize);
+        java.nio.file.Path file = Files.createTempFile("grid", ".tiles");
+        try {
+            long writeStart = System.nanoTime();
+            TiledGrid.writeRandom(file, size, size, tileSize, PathfindingExperiment.MAX_WEIGHT,
+                    PathfindingExperiment.OBSTACLE_DENSITY, 42);
+            System.out.printf("Tile file: %.1f MB written in %d ms\n",
+                    Files.size(file) / (1024.0 * 1024.0), (System.nanoTime() - writeStart) / 1_000_000);
+            PathFinder finder = new DijkstraPathFinder();
+            for (int cacheSize : CACHE_SIZES) {
+                try (TiledGrid grid = TiledGrid.open(file, cacheSize)) {
+                    List<PathRequest> requests = localRequests(grid, new Random(7));
+                    long start = System.nanoTime();
+                    long found = 0;
+                    for (PathRequest request : requests) {
+                        if (finder.findPath(request).isFound()) found++;
+                    }
+                    double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+                    System.out.printf("Cache %3d tiles (%6.1f MB): %8.1f ms, found %d/%d, hits %d, misses %d, evictions %d, hit rate %.2f%%\n",
+                            cacheSize, cacheSize * (double) tileSize * tileSize / (1024 * 1024), elapsedMs, found,
+                            requests.size(), grid.getTileHits(), grid.getTileMisses(), grid.getTileEvictions(),
+                            grid.getTileHitRate() * 100);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<PathRequest> localRequests(Grid grid, Random rand) {
+        List<PathRequest> requests = new ArrayList<>(REQUEST_COUNT);
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            int r = rand.nextInt(grid.getRows());
+            int c = rand.nextInt(grid.getCols());
+            int gr = Math.min(grid.getRows() - 1, r + rand.nextInt(MAX_REQUEST_SPAN));
+            int gc = Math.min(grid.getCols() - 1, c + rand.nextInt(MAX_REQUEST_SPAN));
+            requests.add(new PathRequest(i + 1, grid, grid.getCell(r, c), grid.getCell(gr, gc)));
+        }
+        return requests;
+    }
+
+    private static void verifyAgainstInMemoryGrid() throws IOException {
+        Grid memoryGrid = new Grid(300, 300, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        java.nio.file.Path file = Files.createTempFile("grid-verify", ".tiles");
+        try {
+            TiledGrid.write(memoryGrid, file, 64);
+            try (TiledGrid tiledGrid = TiledGrid.open(file, 4)) {
+                PathFinder finder = new DijkstraPathFinder();
+                List<PathRequest> requests = new WorkloadGenerator(PathfindingExperiment.BENCHMARK_SEED)
+                        .generateRequests(memoryGrid, 10, WorkloadGenerator.RequestDistribution.UNIFORM);
+                int mismatches = 0;
+                for (int i = 0; i < requests.size(); i++) {
+                    Cell start = requests.get(i).getStartCell();
+                    Cell goal = requests.get(i).getGoalCell();
+                    Path expected = finder.findPath(new PathRequest(i, memoryGrid, start, goal));
+                    Path actual = finder.findPath(new PathRequest(i, tiledGrid,
+                            tiledGrid.getCell(start.getRow(), start.getCol()), tiledGrid.getCell(goal.getRow(), goal.getCol())));
+                    if (expected.getTotalCost() != actual.getTotalCost() || !expected.getCells().equals(actual.getCells())) {
+                        mismatches++;
+                    }
+                }
+                System.out.printf("Verification against in-memory grid: %d/10 mismatches (%s)\n", mismatches, tiledGrid);
+                // The same requests again through the engine, with its threads sharing the one tile cache.
+                List<PathRequest> tiledRequests = new ArrayList<>();
+                for (PathRequest request : requests) {
+                    Cell start = request.getStartCell(), goal = request.getGoalCell();
+                    tiledRequests.add(new PathRequest(request.getRequestId(), tiledGrid,
+                            tiledGrid.getCell(start.getRow(), start.getCol()), tiledGrid.getCell(goal.getRow(), goal.getCol())));
+                }
+                List<Path> expected = new ParallelPathfindingEngine(4, finder).processRequests(requests);
+                List<Path> actual = new ParallelPathfindingEngine(4, finder).processRequests(tiledRequests);
+                mismatches = 0;
+                for (int i = 0; i < requests.size(); i++) {
+                    if (expected.get(i).getCost() != actual.get(i).getCost()) mismatches++;
+                }
+                System.out.printf("Engine with 4 threads on the tiled grid: %d/10 mismatches (%s)\n", mismatches, tiledGrid);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
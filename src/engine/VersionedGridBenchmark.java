@@ -0,0 +1,174 @@
+package engine;
+
+import core.*;
+import algorithm.DijkstraPathFinder;
+import algorithm.PathFinder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Mixed read/write workload: reader threads run local queries while one writer keeps committing
+ * small obstacle edits. Compares copy-on-write tile snapshots against publishing a full grid copy
+ * per edit, reporting read and edit latency, bytes the writer allocates per edit, memory needed
+ * to keep recent versions alive, and whether re-running a pinned request ever sees a later edit.
+ */
+public class VersionedGridBenchmark {
+    private static final int RETAINED_VERSIONS = 16;
+    private static final int QUERY_SPAN = 40;
+    private static final int EDIT_SIZE = 4;
+    private static final int RECHECK_EVERY = 25;
+    // Goals cut off by an edit would otherwise flood the whole map.
+    private static final SearchLimits READ_LIMITS = SearchLimits.NONE.withMaxExpandedNodes(16L * QUERY_SPAN * QUERY_SPAN);
+
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        run(size, readers, seconds);
+    }
+
+    public static void run(int size, int readers, int seconds) throws Exception {
+        System.out.printf("\n--- Versioned Grid Benchmark (%dx%d, %d readers + 1 writer, %d s per mode) ---\n",
+                size, size, readers, seconds);
+        Grid base = new Grid(size, size, PathfindingExperiment.MAX_WEIGHT, PathfindingExperiment.OBSTACLE_DENSITY,
+                PathfindingExperiment.BENCHMARK_SEED);
+        System.out.println("Mode                  | Queries | Read p50 (ms) | Read p99 (ms) | Edits | Edit avg (ms) | Edit p99 (ms) | Alloc/edit (KB) | Last " + RETAINED_VERSIONS + " versions (MB) | Isolation errors");
+
+        VersionedGrid versioned = new VersionedGrid(base);
+        List<GridSnapshot> recent = new ArrayList<>();
+        measure("Copy-on-write tiles", versioned::snapshot, (top, left, weight) -> {
+            GridSnapshot next = versioned.fillRect(top, left, EDIT_SIZE, EDIT_SIZE, weight);
+            recent.add(next);
+            if (recent.size() > RETAINED_VERSIONS) recent.remove(0);
+        }, () -> {
+            long tiles = recent.get(0).getTileCount();
+            for (int i = 1; i < recent.size(); i++) {
+                tiles += recent.get(i).getTileCount() - recent.get(i).sharedTileCount(recent.get(i - 1));
+            }
+            return tiles * versioned.getTileBytes() + (long) recent.size() * recent.get(0).getTileCount() * Long.BYTES;
+        }, size, readers, seconds);
+
+        int[] weights = base.toWeightArray();
+        Grid[] latest = {new Grid(size, size, weights)};
+        long[] fullCopyBytes = new long[1];
+        measure("Full copy per edit", () -> latest[0], (top, left, weight) -> {
+            int[] next = latest[0].toWeightArray();
+            for (int r = top; r < Math.min(size, top + EDIT_SIZE); r++) {
+                for (int c = left; c < Math.min(size, left + EDIT_SIZE); c++) next[r * size + c] = weight;
+            }
+            synchronized (latest) {
+                latest[0] = new Grid(size, size, next);
+            }
+        }, () -> fullCopyBytes[0] * RETAINED_VERSIONS, size, readers, seconds, fullCopyBytes);
+    }
+
+    private interface Editor {
+        void edit(int top, int left, int weight);
+    }
+
+    private static void measure(String label, Supplier<Grid> snapshots, Editor editor, Supplier<Long> retainedBytes,
+                                int size, int readers, int seconds) throws Exception {
+        measure(label, snapshots, editor, retainedBytes, size, readers, seconds, null);
+    }
+
+    // perEditBytes, when given, receives the writer's average allocation per edit before retainedBytes is read.
+    private static void measure(String label, Supplier<Grid> snapshots, Editor editor, Supplier<Long> retainedBytes,
+                                int size, int readers, int seconds, long[] perEditBytes) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(readers + 1);
+        try {
+            List<Future<long[]>> readResults = new ArrayList<>();
+            for (int t = 0; t < readers; t++) {
+                long seed = PathfindingExperiment.BENCHMARK_SEED + t;
+                readResults.add(pool.submit(() -> readLoop(snapshots, size, seed, running)));
+            }
+            Future<long[]> writeResult = pool.submit(() -> writeLoop(editor, size, running));
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+            running.set(false);
+
+            long[] editTimes = writeResult.get();
+            int edits = editTimes.length - 1;
+            long allocated = editTimes[edits];
+            editTimes = Arrays.copyOf(editTimes, edits);
+            List<Long> latencies = new ArrayList<>();
+            long isolationErrors = 0;
+            for (Future<long[]> future : readResults) {
+                long[] result = future.get();
+                isolationErrors += result[result.length - 1];
+                for (int i = 0; i < result.length - 1; i++) latencies.add(result[i]);
+            }
+            long[] reads = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            Arrays.sort(editTimes);
+            long bytesPerEdit = edits == 0 ? 0 : allocated / edits;
+            if (perEditBytes != null) perEditBytes[0] = bytesPerEdit;
+            System.out.printf("%-21s | %7d | %13.3f | %13.3f | %5d | %13.3f | %13.3f | %15.1f | %21.1f | %d\n", label,
+                    reads.length, BenchmarkRunner.percentile(reads, 0.5) / 1e6, BenchmarkRunner.percentile(reads, 0.99) / 1e6,
+                    edits, Arrays.stream(editTimes).average().orElse(0) / 1e6, BenchmarkRunner.percentile(editTimes, 0.99) / 1e6,
+                    bytesPerEdit / 1024.0, retainedBytes.get() / (1024.0 * 1024.0), isolationErrors);
+        } finally {
+            running.set(false);
+            pool.shutdown();
+        }
+    }
+
+    // Returns query latencies in ns followed by the number of pinned re-runs that saw a different cost.
+    private static long[] readLoop(Supplier<Grid> snapshots, int size, long seed, AtomicBoolean running) {
+        SplittableRandom random = new SplittableRandom(seed);
+        PathFinder finder = new DijkstraPathFinder();
+        List<Long> latencies = new ArrayList<>();
+        long isolationErrors = 0;
+        while (running.get()) {
+            int r = random.nextInt(size), c = random.nextInt(size);
+            int gr = Math.min(size - 1, r + random.nextInt(QUERY_SPAN)), gc = Math.min(size - 1, c + random.nextInt(QUERY_SPAN));
+            long start = System.nanoTime();
+            Grid pinned = snapshots.get();
+            PathRequest request = new PathRequest(latencies.size(), pinned, pinned.getCell(r, c), pinned.getCell(gr, gc),
+                    READ_LIMITS);
+            Path path = finder.findPath(request);
+            latencies.add(System.nanoTime() - start);
+            if (latencies.size() % RECHECK_EVERY == 0 && !sameResult(finder.findPath(request), path)) {
+                isolationErrors++;
+            }
+        }
+        long[] result = new long[latencies.size() + 1];
+        for (int i = 0; i < latencies.size(); i++) result[i] = latencies.get(i);
+        result[latencies.size()] = isolationErrors;
+        return result;
+    }
+
+    private static boolean sameResult(Path a, Path b) {
+        return a.getStatus() == b.getStatus() && a.getCost() == b.getCost();
+    }
+
+    // Returns edit latencies in ns followed by the bytes this thread allocated while editing.
+    private static long[] writeLoop(Editor editor, int size, AtomicBoolean running) throws InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SplittableRandom random = new SplittableRandom(PathfindingExperiment.BENCHMARK_SEED);
+        List<Long> times = new ArrayList<>();
+        long allocated = 0;
+        while (running.get()) {
+            int top = random.nextInt(size), left = random.nextInt(size);
+            int weight = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(PathfindingExperiment.MAX_WEIGHT);
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            editor.edit(top, left, weight);
+            times.add(System.nanoTime() - start);
+            allocated += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            Thread.sleep(1);
+        }
+        long[] result = new long[times.size() + 1];
+        for (int i = 0; i < times.size(); i++) result[i] = times.get(i);
+        result[times.size()] = allocated;
+        return result;
+    }
+}
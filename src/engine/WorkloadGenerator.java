@@ -0,0 +1,116 @@
+package engine;
+
+import core.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class WorkloadGenerator {
+    public enum RequestDistribution {
+        UNIFORM,    // start and goal drawn uniformly from walkable cells
+        CLUSTERED,  // starts and goals drawn around a few hotspots
+        NEAR,       // goal within a small radius of the start
+        FAR         // goal far from the start (farthest of several uniform draws)
+    }
+
+    private static final int HOTSPOT_COUNT = 4;
+    private static final int FAR_CANDIDATES = 8;
+
+    private final long seed;
+    public WorkloadGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public Grid generateGrid(GridGenerator.MapType type, int rows, int cols, int maxWeight, double obstacleDensity) {
+        return new GridGenerator(seed).generate(type, rows, cols, maxWeight, obstacleDensity);
+    }
+
+    public List<PathRequest> generateRequests(Grid grid, int count, RequestDistribution distribution) {
+        SplittableRandom rand = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        int[] walkable = walkableCells(grid);
+        List<PathRequest> requests = new ArrayList<>(count);
+        if (walkable.length < 2) {
+            return requests;
+        }
+        int cols = grid.getCols();
+        int radius = Math.max(2, Math.max(grid.getRows(), cols) / 10);
+        int[][] hotspots = null;
+        if (distribution == RequestDistribution.CLUSTERED) {
+            hotspots = new int[HOTSPOT_COUNT][];
+            for (int h = 0; h < HOTSPOT_COUNT; h++) {
+                hotspots[h] = cellsWithin(grid, walkable[rand.nextInt(walkable.length)], radius);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int start, goal;
+            switch (distribution) {
+                case CLUSTERED:
+                    start = pick(hotspots[rand.nextInt(HOTSPOT_COUNT)], rand);
+                    goal = pick(hotspots[rand.nextInt(HOTSPOT_COUNT)], rand);
+                    break;
+                case NEAR:
+                    start = walkable[rand.nextInt(walkable.length)];
+                    goal = pick(cellsWithin(grid, start, radius), rand);
+                    break;
+                case FAR:
+                    start = walkable[rand.nextInt(walkable.length)];
+                    goal = start;
+                    int bestDistance = -1;
+                    for (int k = 0; k < FAR_CANDIDATES; k++) {
+                        int candidate = walkable[rand.nextInt(walkable.length)];
+                        int distance = Math.abs(candidate / cols - start / cols) + Math.abs(candidate % cols - start % cols);
+                        if (distance > bestDistance) {
+                            bestDistance = distance;
+                            goal = candidate;
+                        }
+                    }
+                    break;
+                default:
+                    start = walkable[rand.nextInt(walkable.length)];
+                    goal = walkable[rand.nextInt(walkable.length)];
+            }
+            if (goal == start) {
+                // Deterministic fallback instead of rejection sampling: step to the next walkable cell.
+                goal = walkable[(indexOf(walkable, start) + 1) % walkable.length];
+            }
+            requests.add(new PathRequest(i + 1, grid, grid.getCell(start / cols, start % cols),
+                    grid.getCell(goal / cols, goal % cols)));
+        }
+        return requests;
+    }
+
+    private static int pick(int[] cells, SplittableRandom rand) {
+        return cells[rand.nextInt(cells.length)];
+    }
+
+    private static int indexOf(int[] sorted, int value) {
+        int index = java.util.Arrays.binarySearch(sorted, value);
+        return Math.max(0, index);
+    }
+
+    private static int[] walkableCells(Grid grid) {
+        int[] weights = grid.toWeightArray();
+        int count = 0;
+        for (int weight : weights) if (weight > 0) count++;
+        int[] walkable = new int[count];
+        int next = 0;
+        for (int i = 0; i < weights.length; i++) if (weights[i] > 0) walkable[next++] = i;
+        return walkable;
+    }
+
+    private static int[] cellsWithin(Grid grid, int center, int radius) {
+        int cols = grid.getCols();
+        int row = center / cols, col = center % cols;
+        List<Integer> cells = new ArrayList<>();
+        for (int r = Math.max(0, row - radius); r <= Math.min(grid.getRows() - 1, row + radius); r++) {
+            int span = radius - Math.abs(r - row);
+            for (int c = Math.max(0, col - span); c <= Math.min(cols - 1, col + span); c++) {
+                if (grid.isWalkable(grid.getCell(r, c))) cells.add(r * cols + c);
+            }
+        }
+        int[] result = new int[cells.size()];
+        for (int i = 0; i < result.length; i++) result[i] = cells.get(i);
+        return result;
+    }
+}